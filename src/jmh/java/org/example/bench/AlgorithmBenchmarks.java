@@ -0,0 +1,48 @@
+package org.example.bench;
+
+import org.example.dagsp.DAGShortestLongestPaths;
+import org.example.scc.KosarajuSCC;
+import org.example.topo.CondensationGraph;
+import org.example.topo.KahnTopologicalSort;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks of each pipeline stage. Every stage consumes the
+ * precomputed output of the stage before it, so only its own work is timed.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AlgorithmBenchmarks {
+
+    @Benchmark
+    public KosarajuSCC.SCCResult kosarajuSCC(GraphState state) {
+        return new KosarajuSCC(state.graph).findSCCs();
+    }
+
+    @Benchmark
+    public CondensationGraph condensation(GraphState state) {
+        return new CondensationGraph(state.graph, state.sccs);
+    }
+
+    @Benchmark
+    public KahnTopologicalSort.TopoResult kahnTopologicalSort(GraphState state) {
+        return new KahnTopologicalSort(state.condensation).topologicalSort();
+    }
+
+    @Benchmark
+    public DAGShortestLongestPaths.ShortestPathResult shortestPath(GraphState state) {
+        return new DAGShortestLongestPaths(state.condensation).shortestPath(0);
+    }
+
+    @Benchmark
+    public DAGShortestLongestPaths.CriticalPathResult criticalPath(GraphState state) {
+        return new DAGShortestLongestPaths(state.condensation).findCriticalPath();
+    }
+}
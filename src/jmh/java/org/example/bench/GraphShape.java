@@ -0,0 +1,82 @@
+package org.example.bench;
+
+import org.example.model.Graph;
+import java.util.Random;
+
+/**
+ * Seeded synthetic graph shapes for benchmarks. The same shape, size and
+ * seed always produce the same graph, so runs are comparable.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public enum GraphShape {
+    /** About 4 random arcs per node, a mix of small SCCs and DAG parts. */
+    SPARSE {
+        @Override
+        void addEdges(Graph graph, Random random) {
+            addRandomArcs(graph, random, 4L * graph.getN());
+        }
+    },
+    /** About 32 random arcs per node. */
+    DENSE {
+        @Override
+        void addEdges(Graph graph, Random random) {
+            addRandomArcs(graph, random, 32L * graph.getN());
+        }
+    },
+    /** A Hamiltonian cycle plus random chords: one component holding every node. */
+    GIANT_SCC {
+        @Override
+        void addEdges(Graph graph, Random random) {
+            int n = graph.getN();
+            for (int u = 0; u < n; u++) {
+                graph.addEdge(u, (u + 1) % n, weight(random));
+            }
+            addRandomArcs(graph, random, 3L * n);
+        }
+    },
+    /** Random forward arcs only (u &lt; v), about 4 per node: every node its own component. */
+    DAG {
+        @Override
+        void addEdges(Graph graph, Random random) {
+            int n = graph.getN();
+            for (long i = 0, arcs = 4L * n; i < arcs; i++) {
+                int u = random.nextInt(n - 1);
+                int v = u + 1 + random.nextInt(Math.min(n - u - 1, 64));
+                graph.addEdge(u, v, weight(random));
+            }
+        }
+    };
+
+    abstract void addEdges(Graph graph, Random random);
+
+    /**
+     * Builds a directed, edge-weighted graph of this shape.
+     *
+     * @param n the number of nodes, at least 2
+     * @param seed the random seed
+     * @return the generated graph, already frozen
+     */
+    public Graph build(int n, long seed) {
+        Graph graph = new Graph(n, true, "edge");
+        addEdges(graph, new Random(seed));
+        graph.freeze();
+        return graph;
+    }
+
+    private static void addRandomArcs(Graph graph, Random random, long arcs) {
+        int n = graph.getN();
+        for (long i = 0; i < arcs; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) {
+                graph.addEdge(u, v, weight(random));
+            }
+        }
+    }
+
+    private static int weight(Random random) {
+        return random.nextInt(10) + 1;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.bench;
+
+import org.example.model.Graph;
+import org.example.scc.KosarajuSCC;
+import org.example.topo.CondensationGraph;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Shared benchmark input: one graph per size/shape pair plus the SCCs and
+ * condensation derived from it, built once per trial outside measurement.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"SPARSE", "DENSE", "GIANT_SCC", "DAG"})
+    public GraphShape shape;
+
+    public Graph graph;
+    public KosarajuSCC.SCCResult sccs;
+    public Graph condensation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = shape.build(size, 42);
+        sccs = new KosarajuSCC(graph).findSCCs();
+        condensation = new CondensationGraph(graph, sccs).getCondensationGraph();
+        condensation.freeze();
+    }
+}
@@ -1,32 +1,81 @@
 package org.example;
 
+import org.example.cache.AnalysisCache;
+import org.example.cache.AnalysisResult;
+import org.example.cache.GraphHash;
+import org.example.metrics.Metrics;
 import org.example.model.Graph;
+import org.example.model.GraphBinaryFormat;
 import org.example.model.GraphJsonParser;
 import org.example.scc.KosarajuSCC;
+import org.example.scc.SCCEngine;
+import org.example.scc.SCCFinder;
 import org.example.topo.CondensationGraph;
 import org.example.topo.KahnTopologicalSort;
 import org.example.dagsp.DAGShortestLongestPaths;
+import org.example.dagsp.PreparedDAGPaths;
+import org.example.util.BatchPipeline;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 public class Main {
     public static void main(String[] args) {
+        // Select with -Dscc.engine=kosaraju|tarjan|parallel|sharded
+        String engineName = System.getProperty("scc.engine", "kosaraju");
+        SCCEngine engine;
+        try {
+            engine = SCCEngine.fromName(engineName);
+        } catch (IllegalArgumentException e) {
+            StringBuilder names = new StringBuilder();
+            for (SCCEngine candidate : SCCEngine.values()) {
+                names.append(names.length() == 0 ? "" : ", ").append(candidate.name().toLowerCase(Locale.ROOT));
+            }
+            System.err.println("Unknown SCC engine \"" + engineName + "\". Valid -Dscc.engine values: " + names);
+            return;
+        }
+
+        // Reuse earlier results with -Dscc.cache=DIR [-Dscc.cache.maxMb=256]
+        AnalysisCache cache = null;
+        String cacheDir = System.getProperty("scc.cache");
+        if (cacheDir != null && (args.length == 0 || !args[0].equals("--batch"))) {
+            try {
+                cache = new AnalysisCache(Path.of(cacheDir), Long.getLong("scc.cache.maxMb", 256) << 20);
+            } catch (IOException e) {
+                System.err.println("Cache disabled: " + e.getMessage());
+            }
+        }
 
         if (args.length < 1) {
             System.out.println("No file specified. Running analysis on ALL datasets...\n");
-            runAllDatasets();
+            runAllDatasets(engine, cache);
+            return;
+        }
+
+        // Concurrent analysis with a JSON/CSV summary, see BatchPipeline for options
+        if (args[0].equals("--batch")) {
+            try {
+                BatchPipeline.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (IOException e) {
+                System.err.println("Error: " + e.getMessage());
+            }
             return;
         }
 
 
         try {
-            runSingleAnalysis(args[0]);
+            runSingleAnalysis(args[0], engine, cache);
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private static void runAllDatasets() {
+    private static void runAllDatasets(SCCEngine engine, AnalysisCache cache) {
         File dataDir = new File("data");
         File[] files = dataDir.listFiles((dir, name) -> name.endsWith(".json"));
 
@@ -37,7 +86,7 @@ public class Main {
                 System.out.println("=".repeat(70));
 
                 try {
-                    runSingleAnalysis("data/" + file.getName());
+                    runSingleAnalysis("data/" + file.getName(), engine, cache);
                 } catch (Exception e) {
                     System.err.println("Error processing " + file.getName() + ": " + e.getMessage());
                 }
@@ -48,18 +97,37 @@ public class Main {
             System.out.println("\nCompleted analysis of " + files.length + " datasets");
         } else {
             System.out.println("No JSON files found in data/ directory");
-            System.out.println("Usage: java -jar DAA4.jar <input_json_file>");
+            System.out.println("Usage: java -jar DAA4.jar <input_json_or_bin_file>");
             System.out.println("Or run without arguments to analyze all datasets in data/");
         }
     }
 
-    private static void runSingleAnalysis(String filePath) throws Exception {
-        Graph graph = GraphJsonParser.parse(filePath);
+    public static Graph loadGraph(String filePath) throws IOException {
+        if (filePath.endsWith(".bin")) {
+            return GraphBinaryFormat.load(Path.of(filePath));
+        }
+        return GraphJsonParser.parse(filePath);
+    }
+
+    private static void runSingleAnalysis(String filePath, SCCEngine engine, AnalysisCache cache) throws Exception {
+        Graph graph = loadGraph(filePath);
         System.out.println("Graph loaded: " + graph.getN() + " nodes, " + graph.getEdgeCount() + " edges");
 
+        String cacheKey = null;
+        AnalysisResult cached = null;
+        if (cache != null) {
+            cacheKey = AnalysisCache.key(GraphHash.of(graph), engine.name());
+            cached = cache.get(cacheKey).orElse(null);
+        }
+
         System.out.println("\n=== Strongly Connected Components ===");
-        KosarajuSCC sccFinder = new KosarajuSCC(graph);
-        KosarajuSCC.SCCResult sccResult = sccFinder.findSCCs();
+        KosarajuSCC.SCCResult sccResult;
+        if (cached != null) {
+            sccResult = cached.toSCCResult();
+        } else {
+            SCCFinder sccFinder = engine.create(graph);
+            sccResult = sccFinder.findSCCs();
+        }
         sccResult.printResults();
 
         System.out.println("\n=== Condensation Graph ===");
@@ -67,12 +135,22 @@ public class Main {
         condensation.printCondensationInfo();
 
         System.out.println("\n=== Topological Sort ===");
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(condensation.getCondensationGraph());
-        KahnTopologicalSort.TopoResult topoResult = topoSort.topologicalSort();
+        KahnTopologicalSort.TopoResult topoResult;
+        if (cached != null) {
+            List<Integer> order = new ArrayList<>();
+            for (int component : cached.getTopologicalOrder()) {
+                order.add(component);
+            }
+            topoResult = new KahnTopologicalSort.TopoResult(order, cached.isDAG(), new Metrics());
+        } else {
+            KahnTopologicalSort topoSort = new KahnTopologicalSort(condensation.getCondensationGraph());
+            topoResult = topoSort.topologicalSort();
+        }
         topoResult.printResults();
 
         System.out.println("\n=== Shortest and Longest Paths on Condensation DAG ===");
-        DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths(condensation.getCondensationGraph());
+        // Reuse the order computed above instead of sorting again for every query
+        PreparedDAGPaths pathFinder = new PreparedDAGPaths(condensation.getCondensationGraph(), topoResult);
         int source = 0;
 
         DAGShortestLongestPaths.ShortestPathResult shortestResult = pathFinder.shortestPath(source);
@@ -89,7 +167,15 @@ public class Main {
             System.out.println("Cannot compute shortest paths on condensation graph");
         }
 
-        DAGShortestLongestPaths.CriticalPathResult criticalResult = pathFinder.findCriticalPath();
+        DAGShortestLongestPaths.CriticalPathResult criticalResult;
+        if (cached != null) {
+            criticalResult = cached.toCriticalPathResult();
+        } else {
+            criticalResult = pathFinder.findCriticalPath();
+            if (cache != null) {
+                cache.put(cacheKey, AnalysisResult.of(sccResult, condensation, topoResult, criticalResult));
+            }
+        }
         criticalResult.printResults();
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package org.example.cache;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Disk-backed, size-bounded LRU cache of {@link AnalysisResult}s keyed by
+ * content hash (see {@link GraphHash}).
+ * <p>
+ * Each entry is one file in the cache directory. A file's modification time
+ * records its last use, so recency survives restarts. When the total size
+ * exceeds the limit, the least recently used entries are deleted. Entries
+ * are written to a temporary file and moved into place, so readers never
+ * see partial files. An entry that cannot be read is deleted and counted
+ * as a miss. Methods are synchronized, so one instance can serve many
+ * threads.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class AnalysisCache {
+    private static final String SUFFIX = ".result";
+
+    private final Path directory;
+    private final long maxBytes;
+    // Entry sizes in least-to-most recently used order
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Opens or creates a cache directory.
+     *
+     * @param directory where entries are stored
+     * @param maxBytes size limit for all entries together
+     * @throws IOException if the directory cannot be created or listed
+     */
+    public AnalysisCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).forEach(files::add);
+        }
+        Map<Path, FileTime> used = new HashMap<>();
+        for (Path file : files) {
+            used.put(file, Files.getLastModifiedTime(file));
+        }
+        files.sort(Comparator.comparing(used::get));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long size = Files.size(file);
+            entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    /**
+     * Builds the cache key for a graph analyzed with a given configuration.
+     *
+     * @param contentHash the graph's {@link GraphHash}
+     * @param configuration anything else that changes the result, e.g. the SCC engine
+     * @return a key usable as a file name
+     */
+    public static String key(String contentHash, String configuration) {
+        return contentHash + "-" + configuration.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "_");
+    }
+
+    /**
+     * Looks up a result and marks it as recently used.
+     *
+     * @param key the cache key
+     * @return the cached result, or empty on a miss
+     */
+    public synchronized Optional<AnalysisResult> get(String key) {
+        // get, not containsKey: only get moves the entry to the most recently used end
+        if (entries.get(key) == null) {
+            misses++;
+            return Optional.empty();
+        }
+        Path file = entryFile(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            AnalysisResult result = AnalysisResult.readFrom(in);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits++;
+            return Optional.of(result);
+        } catch (IOException e) {
+            remove(key);
+            misses++;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a result, evicting least recently used entries as needed.
+     * Results larger than the whole cache are not stored.
+     *
+     * @param key the cache key
+     * @param result the result to store
+     * @throws IOException if the entry cannot be written
+     */
+    public synchronized void put(String key, AnalysisResult result) throws IOException {
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                result.writeTo(out);
+            }
+            long size = Files.size(temp);
+            if (size > maxBytes) {
+                return;
+            }
+            Files.move(temp, entryFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evict();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * @return number of lookups that found nothing usable
+     */
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * @return total size of all entries in bytes
+     */
+    public synchronized long getSizeBytes() { return totalBytes; }
+
+    private void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> oldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && oldest.hasNext()) {
+            Map.Entry<String, Long> entry = oldest.next();
+            Files.deleteIfExists(entryFile(entry.getKey()));
+            totalBytes -= entry.getValue();
+            oldest.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        try {
+            Files.deleteIfExists(entryFile(key));
+        } catch (IOException ignored) {
+            // Stays on disk until the next eviction pass or restart
+        }
+    }
+
+    private Path entryFile(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
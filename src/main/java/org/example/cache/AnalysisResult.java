@@ -0,0 +1,252 @@
+package org.example.cache;
+
+import org.example.dagsp.DAGShortestLongestPaths;
+import org.example.metrics.Metrics;
+import org.example.model.Graph;
+import org.example.scc.KosarajuSCC;
+import org.example.topo.CondensationGraph;
+import org.example.topo.KahnTopologicalSort;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Everything the analysis pipeline derives from a graph, in primitive
+ * arrays: the SCCs, the condensation arcs, the topological order of the
+ * condensation and its critical path. This is what {@link AnalysisCache}
+ * stores.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class AnalysisResult {
+    private static final int MAGIC = 0x41524331; // "ARC1"
+
+    // Components as consecutive runs of members; component c is members[start[c]..start[c + 1])
+    final int[] componentStart;
+    final int[] componentMembers;
+    final int[] edgeFrom;
+    final int[] edgeTo;
+    final int[] edgeWeight;
+    final boolean isDAG;
+    final int[] topoOrder;
+    final int[] criticalPath;
+    final int criticalLength;
+    final int criticalSource;
+
+    AnalysisResult(int[] componentStart, int[] componentMembers, int[] edgeFrom, int[] edgeTo, int[] edgeWeight,
+                   boolean isDAG, int[] topoOrder, int[] criticalPath, int criticalLength, int criticalSource) {
+        this.componentStart = componentStart;
+        this.componentMembers = componentMembers;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.isDAG = isDAG;
+        this.topoOrder = topoOrder;
+        this.criticalPath = criticalPath;
+        this.criticalLength = criticalLength;
+        this.criticalSource = criticalSource;
+    }
+
+    /**
+     * Captures the results of one analysis run.
+     *
+     * @param sccs the SCC result
+     * @param condensation the condensation built from {@code sccs}
+     * @param topo the topological sort of the condensation
+     * @param critical the critical path of the condensation
+     * @return the captured result
+     */
+    public static AnalysisResult of(KosarajuSCC.SCCResult sccs, CondensationGraph condensation,
+                                    KahnTopologicalSort.TopoResult topo,
+                                    DAGShortestLongestPaths.CriticalPathResult critical) {
+        List<List<Integer>> components = sccs.components;
+        int[] start = new int[components.size() + 1];
+        for (int c = 0; c < components.size(); c++) {
+            start[c + 1] = start[c] + components.get(c).size();
+        }
+        int[] members = new int[start[components.size()]];
+        for (int c = 0; c < components.size(); c++) {
+            int i = start[c];
+            for (int node : components.get(c)) {
+                members[i++] = node;
+            }
+        }
+
+        Graph dag = condensation.getCondensationGraph();
+        int arcs = Math.toIntExact(dag.getArcCount());
+        int[] from = new int[arcs];
+        int[] to = new int[arcs];
+        int[] weight = new int[arcs];
+        int i = 0;
+        for (int u = 0; u < dag.getN(); u++) {
+            for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++, i++) {
+                from[i] = u;
+                to[i] = dag.edgeTarget(e);
+                weight[i] = dag.edgeWeight(e);
+            }
+        }
+
+        return new AnalysisResult(start, members, from, to, weight, topo.isDAG, toArray(topo.order),
+                toArray(critical.path), critical.length, critical.source);
+    }
+
+    /**
+     * @return number of strongly connected components
+     */
+    public int getComponentCount() { return componentStart.length - 1; }
+
+    /**
+     * @return size of the largest component, 0 for an empty graph
+     */
+    public int getLargestComponentSize() {
+        int largest = 0;
+        for (int c = 0; c < getComponentCount(); c++) {
+            largest = Math.max(largest, componentStart[c + 1] - componentStart[c]);
+        }
+        return largest;
+    }
+
+    /**
+     * @return number of condensation arcs
+     */
+    public int getCondensationEdgeCount() { return edgeFrom.length; }
+
+    /**
+     * @return whether the condensation sorted completely
+     */
+    public boolean isDAG() { return isDAG; }
+
+    /**
+     * @return the topological order of the condensation
+     */
+    public int[] getTopologicalOrder() { return topoOrder.clone(); }
+
+    /**
+     * @param node an original node
+     * @return the component containing it
+     */
+    public int getComponent(int node) {
+        for (int c = 0; c < getComponentCount(); c++) {
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                if (componentMembers[i] == node) {
+                    return c;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Node " + node + " is in no component");
+    }
+
+    /**
+     * @param component a component of the condensation
+     * @return number of components reachable from it, itself included
+     */
+    public int countReachable(int component) {
+        Graph dag = toCondensationGraph();
+        boolean[] seen = new boolean[dag.getN()];
+        int[] stack = new int[dag.getN()];
+        int size = 0;
+        int count = 0;
+        seen[component] = true;
+        stack[size++] = component;
+        while (size > 0) {
+            int u = stack[--size];
+            count++;
+            for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++) {
+                int v = dag.edgeTarget(e);
+                if (!seen[v]) {
+                    seen[v] = true;
+                    stack[size++] = v;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the components with fresh, empty metrics
+     */
+    public KosarajuSCC.SCCResult toSCCResult() {
+        List<List<Integer>> components = new ArrayList<>();
+        for (int c = 0; c < getComponentCount(); c++) {
+            List<Integer> component = new ArrayList<>();
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                component.add(componentMembers[i]);
+            }
+            components.add(component);
+        }
+        return new KosarajuSCC.SCCResult(components, new Metrics());
+    }
+
+    /**
+     * @return the condensation DAG, arcs in their original order
+     */
+    public Graph toCondensationGraph() {
+        Graph dag = new Graph(getComponentCount(), true, "edge");
+        for (int i = 0; i < edgeFrom.length; i++) {
+            dag.addEdge(edgeFrom[i], edgeTo[i], edgeWeight[i]);
+        }
+        return dag;
+    }
+
+    /**
+     * @return the critical path of the condensation
+     */
+    public DAGShortestLongestPaths.CriticalPathResult toCriticalPathResult() {
+        List<Integer> path = new ArrayList<>();
+        for (int node : criticalPath) {
+            path.add(node);
+        }
+        return new DAGShortestLongestPaths.CriticalPathResult(path, criticalLength, criticalSource);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        writeInts(out, componentStart);
+        writeInts(out, componentMembers);
+        writeInts(out, edgeFrom);
+        writeInts(out, edgeTo);
+        writeInts(out, edgeWeight);
+        out.writeBoolean(isDAG);
+        writeInts(out, topoOrder);
+        writeInts(out, criticalPath);
+        out.writeInt(criticalLength);
+        out.writeInt(criticalSource);
+    }
+
+    static AnalysisResult readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cached analysis result");
+        }
+        return new AnalysisResult(readInts(in), readInts(in), readInts(in), readInts(in), readInts(in),
+                in.readBoolean(), readInts(in), readInts(in), in.readInt(), in.readInt());
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Corrupt cached analysis result");
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
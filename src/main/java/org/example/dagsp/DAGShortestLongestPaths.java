@@ -1,132 +1,42 @@
 package org.example.dagsp;
 
 import org.example.model.Graph;
-import org.example.topo.KahnTopologicalSort;
 import org.example.metrics.Metrics;
 import java.util.*;
 
 public class DAGShortestLongestPaths {
     private final Graph graph;
-    private final Metrics metrics;
+    // "node" weight model: a path costs the sum of its node durations, edge weights are ignored
+    private final boolean nodeWeighted;
 
     public DAGShortestLongestPaths(Graph graph) {
         this.graph = graph;
-        this.metrics = new Metrics();
+        this.nodeWeighted = "node".equals(graph.getWeightModel());
     }
 
-    public ShortestPathResult shortestPath(int source) {
-        metrics.startTimer();
-
-        int n = graph.getN();
-        int[] dist = new int[n];
-        int[] prev = new int[n];
-
-        Arrays.fill(dist, Integer.MAX_VALUE);
-        Arrays.fill(prev, -1);
-        dist[source] = 0;
-
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        var topoResult = topoSort.topologicalSort();
-
-        if (!topoResult.isDAG) {
-            metrics.stopTimer();
-            return new ShortestPathResult(dist, prev, false, metrics);
-        }
+    public boolean isNodeWeighted() {
+        return nodeWeighted;
+    }
 
-        for (int u : topoResult.order) {
-            if (dist[u] != Integer.MAX_VALUE) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    metrics.incrementRelaxations();
-                    int newDist = dist[u] + edge.weight;
-                    if (newDist < dist[edge.v]) {
-                        dist[edge.v] = newDist;
-                        prev[edge.v] = u;
-                    }
-                }
-            }
-        }
+    // Sorts the graph once; use the returned object for repeated queries
+    public PreparedDAGPaths prepare() {
+        return new PreparedDAGPaths(graph);
+    }
 
-        metrics.stopTimer();
-        return new ShortestPathResult(dist, prev, true, metrics);
+    public ShortestPathResult shortestPath(int source) {
+        return prepare().shortestPath(source);
     }
 
     public LongestPathResult longestPath(int source) {
-        metrics.startTimer();
-
-        int n = graph.getN();
-        int[] dist = new int[n];
-        int[] prev = new int[n];
-
-        Arrays.fill(dist, Integer.MIN_VALUE);
-        Arrays.fill(prev, -1);
-        dist[source] = 0;
-
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        var topoResult = topoSort.topologicalSort();
-
-        if (!topoResult.isDAG) {
-            metrics.stopTimer();
-            return new LongestPathResult(dist, prev, false, metrics);
-        }
-
-        for (int u : topoResult.order) {
-            if (dist[u] != Integer.MIN_VALUE) {
-                for (Graph.Edge edge : graph.getEdges(u)) {
-                    metrics.incrementRelaxations();
-                    int newDist = dist[u] + edge.weight;
-                    if (newDist > dist[edge.v]) {
-                        dist[edge.v] = newDist;
-                        prev[edge.v] = u;
-                    }
-                }
-            }
-        }
-
-        metrics.stopTimer();
-        return new LongestPathResult(dist, prev, true, metrics);
+        return prepare().longestPath(source);
     }
 
-    public CriticalPathResult findCriticalPath() {
-        int maxLength = Integer.MIN_VALUE;
-        List<Integer> criticalPath = new ArrayList<>();
-        int bestSource = -1;
-        int bestTarget = -1;
-
-        for (int source = 0; source < graph.getN(); source++) {
-            LongestPathResult result = longestPath(source);
-            if (result.isValid) {
-                for (int target = 0; target < result.dist.length; target++) {
-                    if (result.dist[target] > maxLength && result.dist[target] != Integer.MIN_VALUE) {
-                        maxLength = result.dist[target];
-                        bestSource = source;
-                        bestTarget = target;
-                        criticalPath = reconstructPath(result.prev, target);
-                    }
-                }
-            }
-        }
-
-        if (maxLength == Integer.MIN_VALUE && graph.getN() > 0) {
-            maxLength = 0;
-            criticalPath = List.of(0);
-            bestSource = 0;
-        }
-
-        return new CriticalPathResult(criticalPath, maxLength, bestSource);
+    public ScheduleAnalysis schedule() {
+        return prepare().schedule();
     }
 
-    private List<Integer> reconstructPath(int[] prev, int target) {
-        List<Integer> path = new ArrayList<>();
-        if (prev[target] == -1) {
-            path.add(target);
-            return path;
-        }
-
-        for (int at = target; at != -1; at = prev[at]) {
-            path.add(at);
-        }
-        Collections.reverse(path);
-        return path;
+    public CriticalPathResult findCriticalPath() {
+        return prepare().findCriticalPath();
     }
 
     public static class ShortestPathResult {
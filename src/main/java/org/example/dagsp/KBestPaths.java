@@ -0,0 +1,168 @@
+package org.example.dagsp;
+
+import org.example.model.Graph;
+import java.util.*;
+
+/**
+ * Lazily enumerates paths of a DAG from best to worst.
+ * <p>
+ * One reverse sweep over the topological order computes, for every node,
+ * the best cost of finishing a path from it. Enumeration is then a
+ * best-first search over path prefixes. A prefix's priority is its cost so
+ * far plus that exact completion cost, so prefixes leave the heap in the
+ * order of the best complete path they can still become. Prefixes form a
+ * shared parent-linked tree, and each pulled path costs
+ * O(L &middot; d &middot; log H): L is its length, d the out-degree along
+ * it, and H the heap size. Nothing is computed for paths that are never
+ * pulled.
+ * <p>
+ * Ties come out in the order their prefixes were first reached.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+final class KBestPaths implements Iterator<DAGShortestLongestPaths.CriticalPathResult> {
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Graph graph;
+    private final boolean longest;
+    private final boolean nodeWeighted;
+    private final int[] nodeDurations;
+    private final int target;
+    private final long[] completion;
+    private final PriorityQueue<Prefix> heap;
+    private long sequence;
+    private DAGShortestLongestPaths.CriticalPathResult next;
+
+    /**
+     * @param graph the DAG
+     * @param order a topological order of all of its nodes
+     * @param nodeDurations node costs when node-weighted, otherwise null
+     * @param longest whether to enumerate longest paths first instead of shortest
+     * @param source the first node of every path, or -1 for any node without predecessors
+     * @param target the last node of every path, or -1 for any node without successors
+     */
+    KBestPaths(Graph graph, int[] order, int[] nodeDurations, boolean longest, int source, int target) {
+        this.graph = graph;
+        this.longest = longest;
+        this.nodeWeighted = nodeDurations != null;
+        this.nodeDurations = nodeDurations;
+        this.target = target;
+        this.heap = new PriorityQueue<>((a, b) -> a.key != b.key
+                ? Long.compare(a.key, b.key) : Long.compare(a.sequence, b.sequence));
+
+        int n = graph.getN();
+        completion = new long[n];
+        for (int i = order.length - 1; i >= 0; i--) {
+            int u = order[i];
+            long best = NONE;
+            if (isEnd(u)) {
+                best = 0;
+            } else {
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.edgeTarget(e);
+                    if (completion[v] != NONE) {
+                        long candidate = cost(e, v) + completion[v];
+                        if (best == NONE || (longest ? candidate > best : candidate < best)) {
+                            best = candidate;
+                        }
+                    }
+                }
+            }
+            completion[u] = best;
+        }
+
+        if (source >= 0) {
+            push(null, source, nodeWeighted ? nodeDurations[source] : 0);
+        } else {
+            int[] inDegree = new int[n];
+            for (int u = 0; u < n; u++) {
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    inDegree[graph.edgeTarget(e)]++;
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                if (inDegree[u] == 0) {
+                    push(null, u, nodeWeighted ? nodeDurations[u] : 0);
+                }
+            }
+        }
+    }
+
+    private boolean isEnd(int u) {
+        return target >= 0 ? u == target : graph.outDegree(u) == 0;
+    }
+
+    private long cost(long e, int v) {
+        return nodeWeighted ? nodeDurations[v] : graph.edgeWeight(e);
+    }
+
+    private void push(Prefix parent, int node, long cost) {
+        if (completion[node] == NONE) {
+            return;
+        }
+        long total = cost + completion[node];
+        heap.add(new Prefix(parent, node, cost, longest ? -total : total, sequence++));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public DAGShortestLongestPaths.CriticalPathResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        DAGShortestLongestPaths.CriticalPathResult result = next;
+        next = null;
+        return result;
+    }
+
+    private DAGShortestLongestPaths.CriticalPathResult advance() {
+        Prefix prefix;
+        while ((prefix = heap.poll()) != null) {
+            int u = prefix.node;
+            if (isEnd(u)) {
+                return toResult(prefix);
+            }
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.edgeTarget(e);
+                push(prefix, v, prefix.cost + cost(e, v));
+            }
+        }
+        return null;
+    }
+
+    private static DAGShortestLongestPaths.CriticalPathResult toResult(Prefix last) {
+        List<Integer> path = new ArrayList<>();
+        for (Prefix p = last; p != null; p = p.parent) {
+            path.add(p.node);
+        }
+        Collections.reverse(path);
+        return new DAGShortestLongestPaths.CriticalPathResult(path, Math.toIntExact(last.cost), path.get(0));
+    }
+
+    /**
+     * A path prefix, sharing its earlier nodes with its parent.
+     */
+    private static final class Prefix {
+        final Prefix parent;
+        final int node;
+        final long cost;
+        final long key;
+        final long sequence;
+
+        Prefix(Prefix parent, int node, long cost, long key, long sequence) {
+            this.parent = parent;
+            this.node = node;
+            this.cost = cost;
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package org.example.dagsp;
+
+import org.example.model.Graph;
+import org.example.topo.KahnTopologicalSort;
+import org.example.metrics.Metrics;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Path queries against a DAG whose topological order is computed once.
+ * <p>
+ * The order is kept as an {@code int[]} together with a position table
+ * ({@code position[v]} is v's index in the order), so each query is a
+ * single relaxation pass that starts at the source's position: nodes
+ * ordered before the source cannot be reached from it. Every query gets
+ * its own {@link Metrics}, so results can be compared side by side.
+ * <p>
+ * The graph must not change while a prepared instance is in use;
+ * prepare again after adding edges.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class PreparedDAGPaths {
+    // Sources relaxed together per sweep; one block of lanes per node stays within a cache line or two
+    static final int BATCH_LANES = 16;
+
+    private final Graph graph;
+    private final boolean nodeWeighted;
+    private final int[] nodeDurations;
+    private final int[] order;
+    private final int[] position;
+    private final boolean isDAG;
+    private final Metrics prepareMetrics;
+
+    /**
+     * Sorts the graph topologically and prepares it for queries.
+     *
+     * @param graph the graph to query
+     */
+    public PreparedDAGPaths(Graph graph) {
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+        int n = graph.getN();
+        int[] order = new int[n];
+        int count = KahnTopologicalSort.sortInto(graph, order);
+        metrics.addKahnPushes(count);
+        metrics.addKahnPops(count);
+        metrics.stopTimer();
+
+        this.graph = graph;
+        this.nodeWeighted = "node".equals(graph.getWeightModel());
+        this.nodeDurations = nodeWeighted ? graph.getNodeDurations() : null;
+        this.isDAG = count == n;
+        this.prepareMetrics = metrics;
+        this.order = count == n ? order : Arrays.copyOf(order, count);
+        this.position = positions(this.order, n);
+    }
+
+    /**
+     * Prepares the graph for queries using an existing topological sort of it.
+     *
+     * @param graph the graph to query
+     * @param topoResult a topological sort of exactly this graph
+     */
+    public PreparedDAGPaths(Graph graph, KahnTopologicalSort.TopoResult topoResult) {
+        this.graph = graph;
+        this.nodeWeighted = "node".equals(graph.getWeightModel());
+        this.nodeDurations = nodeWeighted ? graph.getNodeDurations() : null;
+        this.isDAG = topoResult.isDAG;
+        this.prepareMetrics = topoResult.metrics;
+
+        this.order = new int[topoResult.order.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = topoResult.order.get(i);
+        }
+        this.position = positions(order, graph.getN());
+    }
+
+    private static int[] positions(int[] order, int n) {
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        return position;
+    }
+
+    /**
+     * @return whether the graph is acyclic; queries on a cyclic graph return invalid results
+     */
+    public boolean isDAG() { return isDAG; }
+
+    /**
+     * @return metrics of the topological sort done during preparation
+     */
+    public Metrics getPrepareMetrics() { return prepareMetrics; }
+
+    /**
+     * @param node a node of the graph
+     * @return the node's index in the topological order, or -1 if the graph has a cycle through it
+     */
+    public int position(int node) { return position[node]; }
+
+    /**
+     * Computes shortest distances from a source.
+     *
+     * @param source the source node
+     * @return distances ({@code Integer.MAX_VALUE} if unreachable) and predecessors
+     */
+    public DAGShortestLongestPaths.ShortestPathResult shortestPath(int source) {
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+
+        int n = graph.getN();
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        Arrays.fill(prev, -1);
+        dist[source] = nodeWeighted ? nodeDurations[source] : 0;
+
+        if (!isDAG) {
+            metrics.stopTimer();
+            return new DAGShortestLongestPaths.ShortestPathResult(dist, prev, false, metrics);
+        }
+
+        for (int i = position[source]; i < order.length; i++) {
+            int u = order[i];
+            if (dist[u] != Integer.MAX_VALUE) {
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    metrics.incrementRelaxations();
+                    int v = graph.edgeTarget(e);
+                    int newDist = dist[u] + (nodeWeighted ? nodeDurations[v] : graph.edgeWeight(e));
+                    if (newDist < dist[v]) {
+                        dist[v] = newDist;
+                        prev[v] = u;
+                    }
+                }
+            }
+        }
+
+        metrics.stopTimer();
+        return new DAGShortestLongestPaths.ShortestPathResult(dist, prev, true, metrics);
+    }
+
+    /**
+     * Computes longest distances from a source.
+     *
+     * @param source the source node
+     * @return distances ({@code Integer.MIN_VALUE} if unreachable) and predecessors
+     */
+    public DAGShortestLongestPaths.LongestPathResult longestPath(int source) {
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+        DAGShortestLongestPaths.LongestPathResult result = longestPath(source, metrics);
+        metrics.stopTimer();
+        return result;
+    }
+
+    private DAGShortestLongestPaths.LongestPathResult longestPath(int source, Metrics metrics) {
+        int n = graph.getN();
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+
+        Arrays.fill(dist, Integer.MIN_VALUE);
+        Arrays.fill(prev, -1);
+        dist[source] = nodeWeighted ? nodeDurations[source] : 0;
+
+        if (!isDAG) {
+            return new DAGShortestLongestPaths.LongestPathResult(dist, prev, false, metrics);
+        }
+
+        for (int i = position[source]; i < order.length; i++) {
+            int u = order[i];
+            if (dist[u] != Integer.MIN_VALUE) {
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    metrics.incrementRelaxations();
+                    int v = graph.edgeTarget(e);
+                    int newDist = dist[u] + (nodeWeighted ? nodeDurations[v] : graph.edgeWeight(e));
+                    if (newDist > dist[v]) {
+                        dist[v] = newDist;
+                        prev[v] = u;
+                    }
+                }
+            }
+        }
+
+        return new DAGShortestLongestPaths.LongestPathResult(dist, prev, true, metrics);
+    }
+
+    /**
+     * Computes shortest distances from many sources on the common pool.
+     *
+     * @param sources the source nodes
+     * @return {@code dist[i][v]}, the distance from {@code sources[i]} to v
+     *         ({@code Integer.MAX_VALUE} if unreachable)
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[][] shortestDistances(int[] sources) {
+        return shortestDistances(sources, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes shortest distances from many sources on the given pool.
+     *
+     * @param sources the source nodes
+     * @param pool the pool to run blocks on
+     * @return {@code dist[i][v]}, the distance from {@code sources[i]} to v
+     *         ({@code Integer.MAX_VALUE} if unreachable)
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[][] shortestDistances(int[] sources, ForkJoinPool pool) {
+        return batchDistances(sources, pool, false);
+    }
+
+    /**
+     * Computes longest distances from many sources on the common pool.
+     *
+     * @param sources the source nodes
+     * @return {@code dist[i][v]}, the distance from {@code sources[i]} to v
+     *         ({@code Integer.MIN_VALUE} if unreachable)
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[][] longestDistances(int[] sources) {
+        return longestDistances(sources, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes longest distances from many sources on the given pool.
+     *
+     * @param sources the source nodes
+     * @param pool the pool to run blocks on
+     * @return {@code dist[i][v]}, the distance from {@code sources[i]} to v
+     *         ({@code Integer.MIN_VALUE} if unreachable)
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[][] longestDistances(int[] sources, ForkJoinPool pool) {
+        return batchDistances(sources, pool, true);
+    }
+
+    private int[][] batchDistances(int[] sources, ForkJoinPool pool, boolean longest) {
+        if (!isDAG) {
+            throw new IllegalStateException("Graph contains cycles - no valid topological order");
+        }
+        int n = graph.getN();
+        for (int source : sources) {
+            Objects.checkIndex(source, n);
+        }
+
+        int[][] dist = new int[sources.length][];
+        int blocks = (sources.length + BATCH_LANES - 1) / BATCH_LANES;
+        pool.invoke(new BlockTask(sources, dist, 0, blocks, longest));
+        return dist;
+    }
+
+    /**
+     * Relaxes one block of up to {@link #BATCH_LANES} sources in a single
+     * sweep. Lane k of node v lives at {@code lanes[v * width + k]}, so every
+     * arc is read once and applied to all sources of the block from
+     * contiguous ints.
+     */
+    private void relaxBlock(int[] sources, int[][] dist, int from, boolean longest) {
+        int n = graph.getN();
+        int width = Math.min(BATCH_LANES, sources.length - from);
+        int unreached = longest ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int[] lanes = new int[Math.multiplyExact(n, width)];
+        Arrays.fill(lanes, unreached);
+
+        int first = order.length;
+        for (int k = 0; k < width; k++) {
+            int source = sources[from + k];
+            lanes[source * width + k] = nodeWeighted ? nodeDurations[source] : 0;
+            first = Math.min(first, position[source]);
+        }
+
+        for (int i = first; i < order.length; i++) {
+            int u = order[i];
+            int uBase = u * width;
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.edgeTarget(e);
+                int w = nodeWeighted ? nodeDurations[v] : graph.edgeWeight(e);
+                int vBase = v * width;
+                for (int k = 0; k < width; k++) {
+                    int du = lanes[uBase + k];
+                    if (du != unreached) {
+                        int newDist = du + w;
+                        int dv = lanes[vBase + k];
+                        if (longest ? newDist > dv : newDist < dv) {
+                            lanes[vBase + k] = newDist;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int k = 0; k < width; k++) {
+            int[] row = new int[n];
+            for (int v = 0; v < n; v++) {
+                row[v] = lanes[v * width + k];
+            }
+            dist[from + k] = row;
+        }
+    }
+
+    /**
+     * Splits a range of source blocks across workers.
+     */
+    private final class BlockTask extends RecursiveAction {
+        private final int[] sources;
+        private final int[][] dist;
+        private final int fromBlock;
+        private final int toBlock;
+        private final boolean longest;
+
+        BlockTask(int[] sources, int[][] dist, int fromBlock, int toBlock, boolean longest) {
+            this.sources = sources;
+            this.dist = dist;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+            this.longest = longest;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBlock - fromBlock > 1) {
+                int mid = (fromBlock + toBlock) >>> 1;
+                invokeAll(new BlockTask(sources, dist, fromBlock, mid, longest),
+                        new BlockTask(sources, dist, mid, toBlock, longest));
+                return;
+            }
+            for (int b = fromBlock; b < toBlock; b++) {
+                relaxBlock(sources, dist, b * BATCH_LANES, longest);
+            }
+        }
+    }
+
+    /**
+     * Enumerates paths from {@code source} to {@code target}, longest first.
+     * Paths are computed only as the iterator is advanced.
+     *
+     * @param source the first node
+     * @param target the last node
+     * @return iterator of paths with their lengths, empty if target is unreachable
+     */
+    public Iterator<DAGShortestLongestPaths.CriticalPathResult> longestPaths(int source, int target) {
+        return kBest(true, source, target);
+    }
+
+    /**
+     * Enumerates paths from {@code source} to {@code target}, shortest first.
+     * Paths are computed only as the iterator is advanced.
+     *
+     * @param source the first node
+     * @param target the last node
+     * @return iterator of paths with their lengths, empty if target is unreachable
+     */
+    public Iterator<DAGShortestLongestPaths.CriticalPathResult> shortestPaths(int source, int target) {
+        return kBest(false, source, target);
+    }
+
+    /**
+     * Enumerates maximal chains, from a node without predecessors to a node
+     * without successors, longest first. The first one is a critical path.
+     *
+     * @return iterator of chains with their lengths
+     */
+    public Iterator<DAGShortestLongestPaths.CriticalPathResult> criticalChains() {
+        return kBest(true, -1, -1);
+    }
+
+    private Iterator<DAGShortestLongestPaths.CriticalPathResult> kBest(boolean longest, int source, int target) {
+        if (!isDAG) {
+            throw new IllegalStateException("Graph contains cycles - no valid topological order");
+        }
+        if (source >= 0) {
+            Objects.checkIndex(source, graph.getN());
+        }
+        if (target >= 0) {
+            Objects.checkIndex(target, graph.getN());
+        }
+        return new KBestPaths(graph, order, nodeDurations, longest, source, target);
+    }
+
+    /**
+     * Finds the longest path over all sources in O(V + E): one pass in which
+     * every node starts a path of its own, then one single-source pass to
+     * rebuild the path. Ties go to the lowest source, then the lowest target.
+     *
+     * @return the critical path, its length and its first node
+     */
+    public DAGShortestLongestPaths.CriticalPathResult findCriticalPath() {
+        int n = graph.getN();
+        if (n == 0) {
+            return new DAGShortestLongestPaths.CriticalPathResult(new ArrayList<>(), Integer.MIN_VALUE, -1);
+        }
+        if (!isDAG) {
+            return new DAGShortestLongestPaths.CriticalPathResult(List.of(0), 0, 0);
+        }
+
+        Metrics metrics = new Metrics();
+
+        // best[v]: longest path ending at v; start[v]: smallest first node among such paths
+        int[] best = new int[n];
+        int[] start = new int[n];
+        for (int v = 0; v < n; v++) {
+            best[v] = nodeWeighted ? nodeDurations[v] : 0;
+            start[v] = v;
+        }
+
+        for (int u : order) {
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                metrics.incrementRelaxations();
+                int v = graph.edgeTarget(e);
+                int newDist = best[u] + (nodeWeighted ? nodeDurations[v] : graph.edgeWeight(e));
+                if (newDist > best[v]) {
+                    best[v] = newDist;
+                    start[v] = start[u];
+                } else if (newDist == best[v] && start[u] < start[v]) {
+                    start[v] = start[u];
+                }
+            }
+        }
+
+        int maxLength = Integer.MIN_VALUE;
+        int bestSource = -1;
+        for (int v = 0; v < n; v++) {
+            if (best[v] > maxLength || (best[v] == maxLength && start[v] < bestSource)) {
+                maxLength = best[v];
+                bestSource = start[v];
+            }
+        }
+
+        DAGShortestLongestPaths.LongestPathResult fromSource = longestPath(bestSource, metrics);
+        int bestTarget = bestSource;
+        for (int target = 0; target < n; target++) {
+            if (fromSource.dist[target] == maxLength) {
+                bestTarget = target;
+                break;
+            }
+        }
+
+        return new DAGShortestLongestPaths.CriticalPathResult(
+                reconstructPath(fromSource.prev, bestTarget), maxLength, bestSource);
+    }
+
+    /**
+     * Computes earliest start, latest start and slack of every node with
+     * one forward and one backward sweep over the order.
+     *
+     * @return the schedule, indexed by node
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public ScheduleAnalysis schedule() {
+        if (!isDAG) {
+            throw new IllegalStateException("Graph contains cycles - no valid topological order");
+        }
+        int n = graph.getN();
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+
+        // A node's own duration counts in the node model; arc weights are delays in the edge model
+        int[] earliest = new int[n];
+        int makespan = 0;
+        for (int u : order) {
+            int finish = earliest[u] + (nodeWeighted ? nodeDurations[u] : 0);
+            makespan = Math.max(makespan, finish);
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                metrics.incrementRelaxations();
+                int v = graph.edgeTarget(e);
+                int ready = finish + (nodeWeighted ? 0 : graph.edgeWeight(e));
+                if (ready > earliest[v]) {
+                    earliest[v] = ready;
+                }
+            }
+        }
+
+        int[] latest = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int u = order[i];
+            int finish = makespan;
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                metrics.incrementRelaxations();
+                int due = latest[graph.edgeTarget(e)] - (nodeWeighted ? 0 : graph.edgeWeight(e));
+                if (due < finish) {
+                    finish = due;
+                }
+            }
+            latest[u] = finish - (nodeWeighted ? nodeDurations[u] : 0);
+        }
+
+        metrics.stopTimer();
+        return new ScheduleAnalysis(earliest, latest, makespan, metrics);
+    }
+
+    static List<Integer> reconstructPath(int[] prev, int target) {
+        List<Integer> path = new ArrayList<>();
+        if (prev[target] == -1) {
+            path.add(target);
+            return path;
+        }
+
+        for (int at = target; at != -1; at = prev[at]) {
+            path.add(at);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
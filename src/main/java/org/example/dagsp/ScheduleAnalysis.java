@@ -0,0 +1,109 @@
+package org.example.dagsp;
+
+import org.example.model.Graph;
+import org.example.topo.CondensationGraph;
+import org.example.metrics.Metrics;
+import java.util.*;
+
+/**
+ * Earliest start, latest start and total slack of every node of a DAG
+ * (the critical path method).
+ * <p>
+ * In the node-weighted model each node is a task that takes its duration.
+ * In the edge-weighted model nodes are events and each arc is a minimum
+ * delay between them. Earliest starts come from one forward sweep over the
+ * topological order. Latest starts come from one backward sweep that holds
+ * the makespan fixed. Slack is their difference, so nodes with zero slack
+ * are exactly those that lie on some critical path. Together the two sweeps
+ * take O(V + E).
+ * <p>
+ * For a condensation, {@link #forOriginalNodes(CondensationGraph)} copies
+ * each component's values to all of its member nodes.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class ScheduleAnalysis {
+    public final int[] earliestStart;
+    public final int[] latestStart;
+    public final int[] slack;
+    public final int makespan;
+    public final Metrics metrics;
+
+    ScheduleAnalysis(int[] earliestStart, int[] latestStart, int makespan, Metrics metrics) {
+        this.earliestStart = earliestStart;
+        this.latestStart = latestStart;
+        this.slack = new int[earliestStart.length];
+        for (int v = 0; v < slack.length; v++) {
+            slack[v] = latestStart[v] - earliestStart[v];
+        }
+        this.makespan = makespan;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Analyzes a DAG.
+     *
+     * @param dag the graph to schedule
+     * @return the schedule of every node
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public static ScheduleAnalysis of(Graph dag) {
+        return new PreparedDAGPaths(dag).schedule();
+    }
+
+    /**
+     * Analyzes the condensation and maps the result back to the original nodes.
+     *
+     * @param condensation the condensed graph
+     * @return the schedule of every original node
+     */
+    public static ScheduleAnalysis of(CondensationGraph condensation) {
+        return of(condensation.getCondensationGraph()).forOriginalNodes(condensation);
+    }
+
+    /**
+     * Expands a schedule of condensation components to the original nodes.
+     *
+     * @param condensation the condensation this schedule was computed on
+     * @return a schedule indexed by original node
+     */
+    public ScheduleAnalysis forOriginalNodes(CondensationGraph condensation) {
+        int components = earliestStart.length;
+        int n = 0;
+        for (int c = 0; c < components; c++) {
+            n += condensation.getComponentNodes(c).size();
+        }
+        int[] es = new int[n];
+        int[] ls = new int[n];
+        for (int c = 0; c < components; c++) {
+            for (int node : condensation.getComponentNodes(c)) {
+                es[node] = earliestStart[c];
+                ls[node] = latestStart[c];
+            }
+        }
+        return new ScheduleAnalysis(es, ls, makespan, metrics);
+    }
+
+    /**
+     * @param v a node
+     * @return whether any delay of v delays the whole schedule
+     */
+    public boolean isCritical(int v) {
+        return slack[v] == 0;
+    }
+
+    /**
+     * Prints the makespan and the zero-slack nodes.
+     */
+    public void printResults() {
+        List<Integer> critical = new ArrayList<>();
+        for (int v = 0; v < slack.length; v++) {
+            if (slack[v] == 0) {
+                critical.add(v);
+            }
+        }
+        System.out.println("Makespan: " + makespan);
+        System.out.println("Zero-slack nodes: " + critical);
+    }
+}
@@ -1,39 +1,104 @@
 package org.example.metrics;
 
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Collects performance metrics for graph algorithms.
  * Tracks execution time and operation counts for analysis.
+ * <p>
+ * Counters are {@code long}. A plain instance is meant for one thread;
+ * {@link #concurrent()} returns one whose counters are striped
+ * {@link LongAdder}s, for algorithms that count from many workers. Workers
+ * may also count locally and hand over totals with the {@code add} methods.
+ * <p>
+ * Instrumentation can be switched off. Running with
+ * {@code -Dmetrics.enabled=false} turns every counter and timer call into
+ * a check of a {@code static final} constant that the JIT folds away.
+ * {@link #disabled()} gives a single no-op instance regardless of that flag.
+ * <p>
+ * Named phases ({@link #startPhase}/{@link #stopPhase}) accumulate time
+ * separately from the main timer. {@link #snapshot()} captures everything
+ * as an immutable, exportable {@link Snapshot}.
  *
  * @author Marat Yerkanat
  * @version 1.0
  */
 public class Metrics {
+    /**
+     * Global switch, read once at class initialization.
+     */
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("metrics.enabled"));
+
+    // Shared safely: a disabled instance never changes state
+    private static final Metrics DISABLED = new Metrics(false);
+
+    private final boolean enabled;
+
     private long startTime;
     private long endTime;
 
     // SCC algorithm counters
-    private int dfsVisits;
-    private int dfsEdges;
+    private long dfsVisits;
+    private long dfsEdges;
 
     // Topological sort counters
-    private int kahnPushes;
-    private int kahnPops;
+    private long kahnPushes;
+    private long kahnPops;
 
     // Shortest path counters
-    private int relaxations;
+    private long relaxations;
+
+    // Accumulated phase durations and running phase start times, in insertion order
+    private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+    private final Map<String, Long> phaseStarts = new HashMap<>();
+
+    /**
+     * Constructs a metrics collector, enabled unless switched off globally.
+     */
+    public Metrics() {
+        this(true);
+    }
+
+    private Metrics(boolean enabled) {
+        this.enabled = ENABLED && enabled;
+    }
+
+    /**
+     * @return the shared collector that ignores every call and reports zeros
+     */
+    public static Metrics disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return a collector whose counters may be updated from many threads
+     */
+    public static Metrics concurrent() {
+        return new ConcurrentMetrics();
+    }
+
+    /**
+     * @return whether this instance records anything
+     */
+    public boolean isEnabled() { return enabled; }
 
     /**
      * Starts the performance timer.
      */
     public void startTimer() {
-        startTime = System.nanoTime();
+        if (ENABLED && enabled) {
+            startTime = System.nanoTime();
+        }
     }
 
     /**
      * Stops the performance timer.
      */
     public void stopTimer() {
-        endTime = System.nanoTime();
+        if (ENABLED && enabled) {
+            endTime = System.nanoTime();
+        }
     }
 
     /**
@@ -43,70 +108,359 @@ public class Metrics {
         return endTime - startTime;
     }
 
+    /**
+     * Starts timing a named phase. A phase may run several times; its
+     * durations add up.
+     *
+     * @param phase the phase name
+     */
+    public synchronized void startPhase(String phase) {
+        if (ENABLED && enabled) {
+            phaseStarts.put(phase, System.nanoTime());
+        }
+    }
+
+    /**
+     * Stops timing a named phase started with {@link #startPhase}.
+     *
+     * @param phase the phase name
+     */
+    public synchronized void stopPhase(String phase) {
+        if (ENABLED && enabled) {
+            Long start = phaseStarts.remove(phase);
+            if (start == null) {
+                throw new IllegalStateException("Phase not started: " + phase);
+            }
+            phaseTimes.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    /**
+     * @param phase the phase name
+     * @return accumulated time of the phase in nanoseconds, 0 if it never ran
+     */
+    public synchronized long getPhaseTime(String phase) {
+        return phaseTimes.getOrDefault(phase, 0L);
+    }
+
     // Counter increment methods
     /**
      * Increments DFS node visit counter.
      */
-    public void incrementDfsVisits() { dfsVisits++; }
+    public void incrementDfsVisits() {
+        if (ENABLED && enabled) {
+            dfsVisits++;
+        }
+    }
 
     /**
      * Increments DFS edge traversal counter.
      */
-    public void incrementDfsEdges() { dfsEdges++; }
+    public void incrementDfsEdges() {
+        if (ENABLED && enabled) {
+            dfsEdges++;
+        }
+    }
+
+    /**
+     * Adds node visits counted elsewhere, e.g. by parallel workers.
+     *
+     * @param count number of visits to add
+     */
+    public void addDfsVisits(long count) {
+        if (ENABLED && enabled) {
+            dfsVisits += count;
+        }
+    }
+
+    /**
+     * Adds edge traversals counted elsewhere, e.g. by parallel workers.
+     *
+     * @param count number of traversals to add
+     */
+    public void addDfsEdges(long count) {
+        if (ENABLED && enabled) {
+            dfsEdges += count;
+        }
+    }
 
     /**
      * Increments Kahn's algorithm queue push counter.
      */
-    public void incrementKahnPushes() { kahnPushes++; }
+    public void incrementKahnPushes() {
+        if (ENABLED && enabled) {
+            kahnPushes++;
+        }
+    }
 
     /**
      * Increments Kahn's algorithm queue pop counter.
      */
-    public void incrementKahnPops() { kahnPops++; }
+    public void incrementKahnPops() {
+        if (ENABLED && enabled) {
+            kahnPops++;
+        }
+    }
+
+    /**
+     * Adds queue pushes counted elsewhere, e.g. by parallel workers.
+     *
+     * @param count number of pushes to add
+     */
+    public void addKahnPushes(long count) {
+        if (ENABLED && enabled) {
+            kahnPushes += count;
+        }
+    }
+
+    /**
+     * Adds queue pops counted elsewhere, e.g. by parallel workers.
+     *
+     * @param count number of pops to add
+     */
+    public void addKahnPops(long count) {
+        if (ENABLED && enabled) {
+            kahnPops += count;
+        }
+    }
 
     /**
      * Increments edge relaxation counter for path algorithms.
      */
-    public void incrementRelaxations() { relaxations++; }
+    public void incrementRelaxations() {
+        if (ENABLED && enabled) {
+            relaxations++;
+        }
+    }
+
+    /**
+     * Adds relaxations counted elsewhere, e.g. by parallel workers.
+     *
+     * @param count number of relaxations to add
+     */
+    public void addRelaxations(long count) {
+        if (ENABLED && enabled) {
+            relaxations += count;
+        }
+    }
 
     // Getter methods
     /**
      * @return number of DFS node visits
      */
-    public int getDfsVisits() { return dfsVisits; }
+    public long getDfsVisits() { return dfsVisits; }
 
     /**
      * @return number of DFS edge traversals
      */
-    public int getDfsEdges() { return dfsEdges; }
+    public long getDfsEdges() { return dfsEdges; }
 
     /**
      * @return number of Kahn's algorithm pushes
      */
-    public int getKahnPushes() { return kahnPushes; }
+    public long getKahnPushes() { return kahnPushes; }
 
     /**
      * @return number of Kahn's algorithm pops
      */
-    public int getKahnPops() { return kahnPops; }
+    public long getKahnPops() { return kahnPops; }
 
     /**
      * @return number of edge relaxations
      */
-    public int getRelaxations() { return relaxations; }
+    public long getRelaxations() { return relaxations; }
 
     /**
-     * Resets all counters to zero.
+     * Resets all counters and phase times to zero.
      */
     public void reset() {
         dfsVisits = dfsEdges = kahnPushes = kahnPops = relaxations = 0;
+        synchronized (this) {
+            phaseTimes.clear();
+            phaseStarts.clear();
+        }
+    }
+
+    /**
+     * @return an immutable copy of the current timer, counters and phase times
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> phases;
+        synchronized (this) {
+            phases = new LinkedHashMap<>(phaseTimes);
+        }
+        return new Snapshot(getElapsedTime(), getDfsVisits(), getDfsEdges(),
+                getKahnPushes(), getKahnPops(), getRelaxations(), phases);
     }
 
     @Override
     public String toString() {
         return String.format(
                 "Time: %d ns, DFS Visits: %d, DFS Edges: %d, Kahn Pushes: %d, Kahn Pops: %d, Relaxations: %d",
-                getElapsedTime(), dfsVisits, dfsEdges, kahnPushes, kahnPops, relaxations
+                getElapsedTime(), getDfsVisits(), getDfsEdges(), getKahnPushes(), getKahnPops(), getRelaxations()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable point-in-time copy of a {@link Metrics} instance. Its getters
+     * make it directly serializable with Jackson; {@link #toMap()} gives the
+     * same fields for CSV or log export.
+     */
+    public static final class Snapshot {
+        private final long elapsedTime;
+        private final long dfsVisits;
+        private final long dfsEdges;
+        private final long kahnPushes;
+        private final long kahnPops;
+        private final long relaxations;
+        private final Map<String, Long> phaseTimes;
+
+        Snapshot(long elapsedTime, long dfsVisits, long dfsEdges, long kahnPushes,
+                 long kahnPops, long relaxations, Map<String, Long> phaseTimes) {
+            this.elapsedTime = elapsedTime;
+            this.dfsVisits = dfsVisits;
+            this.dfsEdges = dfsEdges;
+            this.kahnPushes = kahnPushes;
+            this.kahnPops = kahnPops;
+            this.relaxations = relaxations;
+            this.phaseTimes = Collections.unmodifiableMap(phaseTimes);
+        }
+
+        public long getElapsedTime() { return elapsedTime; }
+
+        public long getDfsVisits() { return dfsVisits; }
+
+        public long getDfsEdges() { return dfsEdges; }
+
+        public long getKahnPushes() { return kahnPushes; }
+
+        public long getKahnPops() { return kahnPops; }
+
+        public long getRelaxations() { return relaxations; }
+
+        public Map<String, Long> getPhaseTimes() { return phaseTimes; }
+
+        /**
+         * @return all fields by name in a stable order, phases as "phase.&lt;name&gt;"
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            map.put("elapsedTime", elapsedTime);
+            map.put("dfsVisits", dfsVisits);
+            map.put("dfsEdges", dfsEdges);
+            map.put("kahnPushes", kahnPushes);
+            map.put("kahnPops", kahnPops);
+            map.put("relaxations", relaxations);
+            for (Map.Entry<String, Long> phase : phaseTimes.entrySet()) {
+                map.put("phase." + phase.getKey(), phase.getValue());
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Thread-safe variant with striped counters.
+     */
+    private static final class ConcurrentMetrics extends Metrics {
+        private final LongAdder dfsVisits = new LongAdder();
+        private final LongAdder dfsEdges = new LongAdder();
+        private final LongAdder kahnPushes = new LongAdder();
+        private final LongAdder kahnPops = new LongAdder();
+        private final LongAdder relaxations = new LongAdder();
+
+        @Override
+        public void incrementDfsVisits() {
+            if (ENABLED) {
+                dfsVisits.increment();
+            }
+        }
+
+        @Override
+        public void incrementDfsEdges() {
+            if (ENABLED) {
+                dfsEdges.increment();
+            }
+        }
+
+        @Override
+        public void addDfsVisits(long count) {
+            if (ENABLED) {
+                dfsVisits.add(count);
+            }
+        }
+
+        @Override
+        public void addDfsEdges(long count) {
+            if (ENABLED) {
+                dfsEdges.add(count);
+            }
+        }
+
+        @Override
+        public void incrementKahnPushes() {
+            if (ENABLED) {
+                kahnPushes.increment();
+            }
+        }
+
+        @Override
+        public void incrementKahnPops() {
+            if (ENABLED) {
+                kahnPops.increment();
+            }
+        }
+
+        @Override
+        public void addKahnPushes(long count) {
+            if (ENABLED) {
+                kahnPushes.add(count);
+            }
+        }
+
+        @Override
+        public void addKahnPops(long count) {
+            if (ENABLED) {
+                kahnPops.add(count);
+            }
+        }
+
+        @Override
+        public void incrementRelaxations() {
+            if (ENABLED) {
+                relaxations.increment();
+            }
+        }
+
+        @Override
+        public void addRelaxations(long count) {
+            if (ENABLED) {
+                relaxations.add(count);
+            }
+        }
+
+        @Override
+        public long getDfsVisits() { return dfsVisits.sum(); }
+
+        @Override
+        public long getDfsEdges() { return dfsEdges.sum(); }
+
+        @Override
+        public long getKahnPushes() { return kahnPushes.sum(); }
+
+        @Override
+        public long getKahnPops() { return kahnPops.sum(); }
+
+        @Override
+        public long getRelaxations() { return relaxations.sum(); }
+
+        @Override
+        public void reset() {
+            super.reset();
+            dfsVisits.reset();
+            dfsEdges.reset();
+            kahnPushes.reset();
+            kahnPops.reset();
+            relaxations.reset();
+        }
+    }
+}
@@ -5,18 +5,45 @@ import java.util.*;
 /**
  * Represents a graph model for city service task dependencies.
  * Supports directed and undirected graphs with edge-based weights.
+ * <p>
+ * Edges are collected by {@link #addEdge} and compacted into a compressed
+ * sparse row (CSR) layout on first read: {@code offsets[u]..offsets[u+1]}
+ * indexes the outgoing arcs of {@code u} in {@code targets} and {@code weights}.
+ * Algorithms iterate with {@link #edgeStart}, {@link #edgeEnd},
+ * {@link #edgeTarget} and {@link #edgeWeight}, which allocate nothing.
+ * Arcs of each node keep their insertion order.
+ * <p>
+ * Arc indices are {@code long} so that subclasses such as {@link MappedGraph}
+ * and {@link OffHeapGraph} can hold more than {@code Integer.MAX_VALUE} arcs.
  *
  * @author Your Name
  * @version 1.0
  */
 public class Graph {
+    private static final int INITIAL_EDGE_CAPACITY = 16;
+    private static final int[] NO_ARCS = new int[0];
+
+    /** Stored in dense duration arrays for nodes without a duration. */
+    public static final int NO_DURATION = Integer.MIN_VALUE;
+
     private final int n;
-    private final List<List<Edge>> adjList;
     private final boolean directed;
     private final String weightModel;
-    private final Map<Integer, Integer> nodeDurations;
+    private int[] nodeDurations;
     private int source;
 
+    // Arc buffer filled by addEdge; released once the CSR arrays are built
+    private int[] bufferU;
+    private int[] bufferV;
+    private int[] bufferW;
+    private int arcCount;
+
+    // Frozen CSR representation
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+    private boolean frozen;
+
     /**
      * Constructs a new graph with specified parameters.
      *
@@ -28,12 +55,9 @@ public class Graph {
         this.n = n;
         this.directed = directed;
         this.weightModel = weightModel;
-        this.adjList = new ArrayList<>();
-        this.nodeDurations = new HashMap<>();
-
-        for (int i = 0; i < n; i++) {
-            adjList.add(new ArrayList<>());
-        }
+        this.bufferU = NO_ARCS;
+        this.bufferV = NO_ARCS;
+        this.bufferW = NO_ARCS;
     }
 
     /**
@@ -45,10 +69,78 @@ public class Graph {
      * @param w the edge weight
      */
     public void addEdge(int u, int v, int w) {
-        adjList.get(u).add(new Edge(u, v, w));
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        if (frozen) {
+            thaw();
+        }
+        appendArc(u, v, w);
         if (!directed) {
-            adjList.get(v).add(new Edge(v, u, w));
+            appendArc(v, u, w);
+        }
+    }
+
+    /**
+     * Compacts the edges added so far into the CSR arrays.
+     * Reads do this implicitly; call it explicitly before sharing
+     * the graph between threads.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        int[] off = new int[n + 1];
+        for (int i = 0; i < arcCount; i++) {
+            off[bufferU[i] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            off[u + 1] += off[u];
+        }
+
+        // Stable counting sort by source keeps per-node insertion order
+        int[] cursor = Arrays.copyOf(off, n);
+        int[] tgt = new int[arcCount];
+        int[] wgt = new int[arcCount];
+        for (int i = 0; i < arcCount; i++) {
+            int slot = cursor[bufferU[i]]++;
+            tgt[slot] = bufferV[i];
+            wgt[slot] = bufferW[i];
+        }
+
+        offsets = off;
+        targets = tgt;
+        weights = wgt;
+        bufferU = bufferV = bufferW = null;
+        frozen = true;
+    }
+
+    /**
+     * Rebuilds the arc buffer from the CSR arrays so more edges can be added.
+     */
+    private void thaw() {
+        int capacity = Math.max(INITIAL_EDGE_CAPACITY, arcCount * 2);
+        bufferU = new int[capacity];
+        bufferV = Arrays.copyOf(targets, capacity);
+        bufferW = Arrays.copyOf(weights, capacity);
+        for (int u = 0; u < n; u++) {
+            Arrays.fill(bufferU, offsets[u], offsets[u + 1], u);
+        }
+        offsets = targets = weights = null;
+        frozen = false;
+    }
+
+    private void appendArc(int u, int v, int w) {
+        if (arcCount == bufferU.length) {
+            int capacity = Math.max(INITIAL_EDGE_CAPACITY, bufferU.length * 2);
+            bufferU = Arrays.copyOf(bufferU, capacity);
+            bufferV = Arrays.copyOf(bufferV, capacity);
+            bufferW = Arrays.copyOf(bufferW, capacity);
         }
+        bufferU[arcCount] = u;
+        bufferV[arcCount] = v;
+        bufferW[arcCount] = w;
+        arcCount++;
     }
 
     /**
@@ -58,7 +150,12 @@ public class Graph {
      * @param duration the node duration
      */
     public void setNodeDuration(int node, int duration) {
-        nodeDurations.put(node, duration);
+        Objects.checkIndex(node, n);
+        if (nodeDurations == null) {
+            nodeDurations = new int[n];
+            Arrays.fill(nodeDurations, NO_DURATION);
+        }
+        nodeDurations[node] = duration;
     }
 
     /**
@@ -70,6 +167,63 @@ public class Graph {
         this.source = source;
     }
 
+    // Primitive CSR iteration
+    /**
+     * @param u the node identifier
+     * @return index of the first outgoing arc of the node
+     */
+    public long edgeStart(int u) {
+        freeze();
+        return offsets[u];
+    }
+
+    /**
+     * @param u the node identifier
+     * @return index one past the last outgoing arc of the node
+     */
+    public long edgeEnd(int u) {
+        freeze();
+        return offsets[u + 1];
+    }
+
+    /**
+     * @param e the arc index, obtained from {@link #edgeStart}/{@link #edgeEnd}
+     * @return the target node of the arc
+     */
+    public int edgeTarget(long e) { return targets[(int) e]; }
+
+    /**
+     * @param e the arc index, obtained from {@link #edgeStart}/{@link #edgeEnd}
+     * @return the weight of the arc
+     */
+    public int edgeWeight(long e) { return weights[(int) e]; }
+
+    /**
+     * @param u the node identifier
+     * @return number of outgoing arcs of the node
+     */
+    public int outDegree(int u) {
+        freeze();
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * Builds the transposed graph, with every edge reversed.
+     * {@link OffHeapGraph} and {@link MappedGraph} override this to build
+     * the result off-heap.
+     *
+     * @return a new graph; this base implementation always returns a heap graph
+     */
+    public Graph reversed() {
+        Graph reversed = new Graph(n, directed, weightModel);
+        for (int u = 0; u < n; u++) {
+            for (long e = edgeStart(u), end = edgeEnd(u); e < end; e++) {
+                reversed.addEdge(edgeTarget(e), u, edgeWeight(e));
+            }
+        }
+        return reversed;
+    }
+
     // Getters with Javadoc
     /**
      * @return the number of nodes in the graph
@@ -77,10 +231,17 @@ public class Graph {
     public int getN() { return n; }
 
     /**
+     * Returns a read-only view of the outgoing edges of a node.
+     * Each access materializes a fresh {@link Edge}; prefer the
+     * primitive iteration methods in hot loops.
+     *
      * @param u the node identifier
      * @return list of edges from the specified node
      */
-    public List<Edge> getEdges(int u) { return adjList.get(u); }
+    public List<Edge> getEdges(int u) {
+        freeze();
+        return new EdgeListView(u, edgeStart(u), edgeEnd(u));
+    }
 
     /**
      * @return true if the graph is directed
@@ -94,9 +255,43 @@ public class Graph {
 
     /**
      * @param node the node identifier
-     * @return the duration of the specified node
+     * @return the duration of the specified node, or null if none was set
+     */
+    public Integer getNodeDuration(int node) {
+        int duration = nodeDuration(node);
+        return duration == NO_DURATION ? null : duration;
+    }
+
+    /**
+     * Primitive duration lookup for hot loops.
+     *
+     * @param node the node identifier
+     * @return the duration of the node, or {@link #NO_DURATION} if none was set
+     */
+    public int nodeDuration(int node) {
+        return nodeDurations == null ? NO_DURATION : nodeDurations[node];
+    }
+
+    /**
+     * @return true if at least one node duration was set
      */
-    public Integer getNodeDuration(int node) { return nodeDurations.get(node); }
+    public boolean hasNodeDurations() { return nodeDurations != null; }
+
+    /**
+     * Copies node durations into a dense array, using 0 for nodes without one.
+     *
+     * @return durations indexed by node
+     */
+    public int[] getNodeDurations() {
+        int[] durations = new int[n];
+        if (hasNodeDurations()) {
+            for (int u = 0; u < n; u++) {
+                int duration = nodeDuration(u);
+                durations[u] = duration == NO_DURATION ? 0 : duration;
+            }
+        }
+        return durations;
+    }
 
     /**
      * @return the source node for path algorithms
@@ -104,9 +299,18 @@ public class Graph {
     public int getSource() { return source; }
 
     /**
-     * @return the adjacency list representation of the graph
+     * @return read-only adjacency list view of the graph
      */
-    public List<List<Edge>> getAdjList() { return adjList; }
+    public List<List<Edge>> getAdjList() {
+        freeze();
+        return new AbstractList<>() {
+            @Override
+            public List<Edge> get(int u) { return getEdges(u); }
+
+            @Override
+            public int size() { return n; }
+        };
+    }
 
     /**
      * Calculates the total number of edges in the graph.
@@ -114,11 +318,37 @@ public class Graph {
      * @return the edge count
      */
     public int getEdgeCount() {
-        int count = 0;
-        for (List<Edge> edges : adjList) {
-            count += edges.size();
+        long arcs = getArcCount();
+        return Math.toIntExact(directed ? arcs : arcs / 2);
+    }
+
+    /**
+     * @return number of stored arcs; undirected edges count twice
+     */
+    public long getArcCount() { return arcCount; }
+
+    /**
+     * Read-only list of edges backed by a CSR slice.
+     */
+    private final class EdgeListView extends AbstractList<Edge> implements RandomAccess {
+        private final int u;
+        private final long from;
+        private final int size;
+
+        EdgeListView(int u, long from, long to) {
+            this.u = u;
+            this.from = from;
+            this.size = Math.toIntExact(to - from);
         }
-        return directed ? count : count / 2;
+
+        @Override
+        public Edge get(int index) {
+            Objects.checkIndex(index, size);
+            return new Edge(u, edgeTarget(from + index), edgeWeight(from + index));
+        }
+
+        @Override
+        public int size() { return size; }
     }
 
     /**
@@ -145,4 +375,4 @@ public class Graph {
             return u + "->" + v + "(" + weight + ")";
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,330 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Versioned binary graph file format with memory-mapped loading.
+ * <p>
+ * Layout (little-endian), each section 8-byte aligned:
+ * <pre>
+ *   header   64 bytes: magic, version, flags, n, arc count (long), source,
+ *                      weight model length + up to 32 UTF-8 bytes
+ *   offsets  (n + 1) longs, CSR row offsets
+ *   targets  arc count ints
+ *   weights  arc count ints
+ *   durations n ints, Graph.NO_DURATION if unset (only when FLAG_DURATIONS is set)
+ * </pre>
+ * Undirected graphs store both arcs of every edge, exactly like {@link Graph}.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class GraphBinaryFormat {
+    public static final int MAGIC = 0x47414144; // "DAAG" read little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+
+    static final int FLAG_DIRECTED = 1;
+    static final int FLAG_DURATIONS = 1 << 1;
+
+    private static final int MAX_WEIGHT_MODEL_BYTES = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private GraphBinaryFormat() {
+    }
+
+    /**
+     * Writes a graph to a binary file, replacing any existing file.
+     *
+     * @param graph the graph to write
+     * @param path the destination file
+     * @throws IOException if writing fails
+     */
+    public static void write(Graph graph, Path path) throws IOException {
+        int n = graph.getN();
+        long arcs = graph.getArcCount();
+
+        boolean hasDurations = graph.hasNodeDurations();
+
+        byte[] model = weightModelBytes(graph.getWeightModel());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             SectionWriter out = new SectionWriter(channel, 0)) {
+            int flags = (graph.isDirected() ? FLAG_DIRECTED : 0) | (hasDurations ? FLAG_DURATIONS : 0);
+            writeHeader(out, flags, n, arcs, graph.getSource(), model);
+
+            for (int u = 0; u < n; u++) {
+                out.putLong(graph.edgeStart(u));
+            }
+            out.putLong(arcs);
+
+            for (long e = 0; e < arcs; e++) {
+                out.putInt(graph.edgeTarget(e));
+            }
+            out.align();
+            for (long e = 0; e < arcs; e++) {
+                out.putInt(graph.edgeWeight(e));
+            }
+            out.align();
+
+            if (hasDurations) {
+                for (int u = 0; u < n; u++) {
+                    out.putInt(graph.nodeDuration(u));
+                }
+                out.align();
+            }
+        }
+    }
+
+    /**
+     * Opens a writer that streams arcs straight to a binary file without
+     * building a graph first. The arc count must be known up front; arcs
+     * must arrive grouped by source node in ascending order.
+     *
+     * @param path the destination file, replaced if it exists
+     * @param n the number of nodes
+     * @param arcs the exact number of arcs that will be written
+     * @param directed whether the graph is directed; undirected graphs need both arcs of every edge
+     * @param weightModel the weight model ("edge" or "node")
+     * @param source the source node recorded in the header
+     * @return the arc writer; close it to complete the file
+     * @throws IOException if the file cannot be created
+     */
+    public static ArcWriter openArcWriter(Path path, int n, long arcs, boolean directed,
+                                          String weightModel, int source) throws IOException {
+        return new ArcWriter(path, n, arcs, directed ? FLAG_DIRECTED : 0, weightModelBytes(weightModel), source);
+    }
+
+    /**
+     * Maps a binary graph file. The returned graph reads edges directly from
+     * the mapped pages and is read-only.
+     *
+     * @param path the binary graph file
+     * @return a mapped graph
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static MappedGraph load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + ": " + path);
+            }
+            int flags = header.getInt();
+            int n = header.getInt();
+            long arcs = header.getLong();
+            int source = header.getInt();
+            int modelLength = header.getInt();
+            if (n < 0 || arcs < 0 || modelLength < 0 || modelLength > MAX_WEIGHT_MODEL_BYTES) {
+                throw new IOException("Corrupt binary graph header: " + path);
+            }
+            byte[] model = new byte[modelLength];
+            header.get(model);
+
+            long offsetsPos = HEADER_SIZE;
+            long targetsPos = offsetsPos + (long) (n + 1) * Long.BYTES;
+            long weightsPos = targetsPos + align(arcs * Integer.BYTES);
+            long durationsPos = weightsPos + align(arcs * Integer.BYTES);
+            boolean hasDurations = (flags & FLAG_DURATIONS) != 0;
+            long end = durationsPos + (hasDurations ? align((long) n * Integer.BYTES) : 0);
+            if (channel.size() < end) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            MappedGraph graph = new MappedGraph(n, (flags & FLAG_DIRECTED) != 0,
+                    new String(model, StandardCharsets.UTF_8), arcs,
+                    SegmentedBuffers.mapLongs(channel, offsetsPos, n + 1L),
+                    SegmentedBuffers.mapInts(channel, targetsPos, arcs),
+                    SegmentedBuffers.mapInts(channel, weightsPos, arcs),
+                    hasDurations ? SegmentedBuffers.mapInts(channel, durationsPos, n) : null);
+            graph.setSource(source);
+            return graph;
+        }
+    }
+
+    private static byte[] weightModelBytes(String weightModel) throws IOException {
+        byte[] model = weightModel.getBytes(StandardCharsets.UTF_8);
+        if (model.length > MAX_WEIGHT_MODEL_BYTES) {
+            throw new IOException("Weight model name too long: " + weightModel);
+        }
+        return model;
+    }
+
+    private static void writeHeader(SectionWriter out, int flags, int n, long arcs, int source, byte[] model)
+            throws IOException {
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(flags);
+        out.putInt(n);
+        out.putLong(arcs);
+        out.putInt(source);
+        out.putInt(model.length);
+        for (byte b : model) {
+            out.putByte(b);
+        }
+        out.padTo(HEADER_SIZE);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Buffered little-endian writer for one region of a file, starting at a
+     * given position. It tracks the absolute position so sections can be
+     * aligned, and several writers can fill different sections at once.
+     * Closing flushes but leaves the channel open.
+     */
+    private static final class SectionWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buf;
+        private long flushed;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.buf = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            this.flushed = position;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buf.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buf.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buf.putLong(value);
+        }
+
+        void padTo(long position) throws IOException {
+            while (flushed + buf.position() < position) {
+                putByte((byte) 0);
+            }
+        }
+
+        void align() throws IOException {
+            padTo(GraphBinaryFormat.align(flushed + buf.position()));
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                flushed += channel.write(buf, flushed);
+            }
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Streams arcs into the offsets, targets and weights sections at once,
+     * each through its own buffered writer positioned at its section.
+     * Nothing proportional to the graph is kept in memory.
+     */
+    public static final class ArcWriter implements AutoCloseable {
+        private final Path path;
+        private final int n;
+        private final long arcs;
+        private final FileChannel channel;
+        private final SectionWriter offsets;
+        private final SectionWriter targets;
+        private final SectionWriter weights;
+        private int nextNode;
+        private long written;
+
+        private ArcWriter(Path path, int n, long arcs, int flags, byte[] model, int source) throws IOException {
+            this.path = path;
+            this.n = n;
+            this.arcs = arcs;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try (SectionWriter header = new SectionWriter(channel, 0)) {
+                writeHeader(header, flags, n, arcs, source, model);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            long targetsPos = HEADER_SIZE + (n + 1L) * Long.BYTES;
+            this.offsets = new SectionWriter(channel, HEADER_SIZE);
+            this.targets = new SectionWriter(channel, targetsPos);
+            this.weights = new SectionWriter(channel, targetsPos + align(arcs * Integer.BYTES));
+        }
+
+        /**
+         * Appends one arc.
+         *
+         * @param u the source node, not smaller than the previous arc's
+         * @param v the target node
+         * @param w the arc weight
+         * @throws IOException if writing fails
+         * @throws IllegalArgumentException if arcs arrive out of order or exceed the declared count
+         */
+        public void addArc(int u, int v, int w) throws IOException {
+            Objects.checkIndex(v, n);
+            if (u < nextNode - 1 || u >= n) {
+                throw new IllegalArgumentException("Arc source " + u + " out of order after node " + (nextNode - 1));
+            }
+            if (written == arcs) {
+                throw new IllegalArgumentException("More than the declared " + arcs + " arcs");
+            }
+            while (nextNode <= u) {
+                offsets.putLong(written);
+                nextNode++;
+            }
+            targets.putInt(v);
+            weights.putInt(w);
+            written++;
+        }
+
+        /**
+         * Completes the offsets section and the file.
+         *
+         * @throws IOException if writing fails or fewer arcs than declared were written
+         */
+        @Override
+        public void close() throws IOException {
+            try (channel; offsets; targets; weights) {
+                if (written != arcs) {
+                    throw new IOException("Wrote " + written + " of " + arcs + " declared arcs: " + path);
+                }
+                while (nextNode <= n) {
+                    offsets.putLong(written);
+                    nextNode++;
+                }
+                targets.align();
+                weights.align();
+            }
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package org.example.model;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 
 /**
  * Parser for JSON graph files in the specified task format.
  * Handles both edge-based and node-based weight models.
+ * <p>
+ * Reads the document with Jackson's streaming token API, so no tree is
+ * built: edges go straight into {@link Graph#addEdge} once {@code n} is
+ * known, with {@code directed} and {@code weight_model} taken as read so
+ * far or at their defaults. Top-level keys may appear in any order. Edges
+ * read before {@code n} are held in primitive buffers. If {@code directed}
+ * or {@code weight_model} arrives after the edges with a non-default
+ * value, the graph is rebuilt once.
  *
  * @author Your Name
  * @version 1.0
  */
 public class GraphJsonParser {
-    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonFactory factory = new JsonFactory();
 
     /**
      * Parses a graph from a JSON file.
@@ -23,50 +35,228 @@ public class GraphJsonParser {
      * @throws IOException if file reading or parsing fails
      */
     public static Graph parse(String filePath) throws IOException {
-        JsonNode root = mapper.readTree(new File(filePath));
-        return parseJsonNode(root);
+        try (JsonParser parser = factory.createParser(new File(filePath))) {
+            return parseStream(parser);
+        }
+    }
+
+    /**
+     * Parses a graph from a JSON input stream. The stream is not closed.
+     *
+     * @param in the JSON input
+     * @return a Graph object representing the parsed data
+     * @throws IOException if reading or parsing fails
+     */
+    public static Graph parse(InputStream in) throws IOException {
+        try (JsonParser parser = factory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return parseStream(parser);
+        }
     }
 
     /**
-     * Internal method to parse JSON node into Graph object.
+     * Internal method to read the top-level object token by token.
      *
-     * @param root the root JSON node
+     * @param parser the positioned JSON parser
      * @return constructed Graph object
+     * @throws IOException if the document is malformed
+     */
+    private static Graph parseStream(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected graph object");
+        }
+
+        GraphBuilder builder = new GraphBuilder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "n":
+                    builder.n = parser.getValueAsInt();
+                    break;
+                case "directed":
+                    builder.directed = parser.getValueAsBoolean(true);
+                    builder.reconcile();
+                    break;
+                case "weight_model":
+                    builder.weightModel = parser.getValueAsString();
+                    builder.reconcile();
+                    break;
+                case "source":
+                    builder.source = parser.getValueAsInt();
+                    builder.sourceSeen = true;
+                    break;
+                case "edges":
+                    parseEdges(parser, builder);
+                    break;
+                case "node_durations":
+                    parseDurations(parser, builder);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        if (builder.n < 0) {
+            throw new JsonParseException(parser, "Missing node count \"n\"");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Streams the edges array, forwarding each {@code u/v/w} triple.
      */
-    private static Graph parseJsonNode(JsonNode root) {
-        boolean directed = root.get("directed").asBoolean(true);
-        int n = root.get("n").asInt();
-        String weightModel = root.has("weight_model") ?
-                root.get("weight_model").asText() : "edge";
-
-        Graph graph = new Graph(n, directed, weightModel);
-
-        // Parse edges array
-        JsonNode edges = root.get("edges");
-        for (JsonNode edge : edges) {
-            int u = edge.get("u").asInt();
-            int v = edge.get("v").asInt();
-            int w = edge.get("w").asInt();
-            graph.addEdge(u, v, w);
+    private static void parseEdges(JsonParser parser, GraphBuilder builder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "\"edges\" must be an array");
         }
 
-        // Parse node durations if using node weight model
-        if ("node".equals(weightModel) && root.has("node_durations")) {
-            JsonNode durations = root.get("node_durations");
-            var fields = durations.fields();
-            while (fields.hasNext()) {
-                var entry = fields.next();
-                int node = Integer.parseInt(entry.getKey());
-                int duration = entry.getValue().asInt();
-                graph.setNodeDuration(node, duration);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int u = -1, v = -1, w = 0;
+            boolean hasW = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u":
+                        u = parser.getValueAsInt(-1);
+                        break;
+                    case "v":
+                        v = parser.getValueAsInt(-1);
+                        break;
+                    case "w":
+                        w = parser.getValueAsInt();
+                        hasW = true;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
             }
+
+            if (u < 0 || v < 0 || !hasW) {
+                throw new JsonParseException(parser, "Edge requires \"u\", \"v\" and \"w\"");
+            }
+            builder.edge(u, v, w);
         }
 
-        // Parse source node if specified
-        if (root.has("source")) {
-            graph.setSource(root.get("source").asInt());
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Edge entries must be objects");
+        }
+    }
+
+    /**
+     * Streams the node_durations object of {@code "node": duration} pairs.
+     */
+    private static void parseDurations(JsonParser parser, GraphBuilder builder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
         }
 
-        return graph;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int node;
+            try {
+                node = Integer.parseInt(parser.getCurrentName());
+            } catch (NumberFormatException e) {
+                throw new JsonParseException(parser, "Invalid node id in \"node_durations\"");
+            }
+            parser.nextToken();
+            builder.duration(node, parser.getValueAsInt());
+        }
+    }
+
+    /**
+     * Collects header fields and creates the graph as soon as {@code n} is
+     * known. Edges seen earlier are parked in growable primitive arrays.
+     */
+    private static final class GraphBuilder {
+        int n = -1;
+        boolean directed = true;
+        String weightModel = "edge";
+        int source;
+        boolean sourceSeen;
+
+        Graph graph;
+        int[] pendingEdges = new int[0];
+        int pendingEdgeCount;
+        int[] pendingDurations = new int[0];
+        int pendingDurationCount;
+
+        void edge(int u, int v, int w) {
+            if (graph == null && n >= 0) {
+                createGraph();
+            }
+            if (graph != null) {
+                graph.addEdge(u, v, w);
+                return;
+            }
+            int at = pendingEdgeCount * 3;
+            if (at + 3 > pendingEdges.length) {
+                pendingEdges = Arrays.copyOf(pendingEdges, Math.max(48, pendingEdges.length * 2));
+            }
+            pendingEdges[at] = u;
+            pendingEdges[at + 1] = v;
+            pendingEdges[at + 2] = w;
+            pendingEdgeCount++;
+        }
+
+        void duration(int node, int value) {
+            // Applied at the end since weight_model may follow node_durations
+            int at = pendingDurationCount * 2;
+            if (at + 2 > pendingDurations.length) {
+                pendingDurations = Arrays.copyOf(pendingDurations, Math.max(32, pendingDurations.length * 2));
+            }
+            pendingDurations[at] = node;
+            pendingDurations[at + 1] = value;
+            pendingDurationCount++;
+        }
+
+        void createGraph() {
+            graph = new Graph(n, directed, weightModel);
+            for (int i = 0; i < pendingEdgeCount; i++) {
+                graph.addEdge(pendingEdges[i * 3], pendingEdges[i * 3 + 1], pendingEdges[i * 3 + 2]);
+            }
+            pendingEdges = null;
+            pendingEdgeCount = 0;
+        }
+
+        /**
+         * Rebuilds the graph if a late {@code directed} or {@code weight_model}
+         * contradicts the defaults it was created with.
+         */
+        void reconcile() {
+            if (graph == null || (graph.isDirected() == directed && graph.getWeightModel().equals(weightModel))) {
+                return;
+            }
+            Graph created = graph;
+            graph = new Graph(n, directed, weightModel);
+            for (int u = 0; u < n; u++) {
+                for (long e = created.edgeStart(u), end = created.edgeEnd(u); e < end; e++) {
+                    int v = created.edgeTarget(e);
+                    // An undirected graph already holds both directions; copy each edge once
+                    if (created.isDirected() || u <= v) {
+                        graph.addEdge(u, v, created.edgeWeight(e));
+                    }
+                }
+            }
+        }
+
+        Graph build() {
+            if (graph == null) {
+                createGraph();
+            }
+            if ("node".equals(weightModel)) {
+                for (int i = 0; i < pendingDurationCount; i++) {
+                    graph.setNodeDuration(pendingDurations[i * 2], pendingDurations[i * 2 + 1]);
+                }
+            }
+            if (sourceSeen) {
+                graph.setSource(source);
+            }
+            return graph;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package org.example.model;
+
+/**
+ * Read-only {@link Graph} served straight from a memory-mapped binary file.
+ * Nothing is copied onto the heap: every query reads the mapped pages,
+ * so opening even very large files is immediate.
+ * Created by {@link GraphBinaryFormat#load}.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class MappedGraph extends Graph {
+    private final long arcCount;
+    private final SegmentedBuffers.Longs offsets;
+    private final SegmentedBuffers.Ints targets;
+    private final SegmentedBuffers.Ints weights;
+    private final SegmentedBuffers.Ints durations;
+
+    MappedGraph(int n, boolean directed, String weightModel, long arcCount,
+                SegmentedBuffers.Longs offsets, SegmentedBuffers.Ints targets,
+                SegmentedBuffers.Ints weights, SegmentedBuffers.Ints durations) {
+        super(n, directed, weightModel);
+        this.arcCount = arcCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.durations = durations;
+    }
+
+    /**
+     * @throws UnsupportedOperationException always; mapped graphs are read-only
+     */
+    @Override
+    public void addEdge(int u, int v, int w) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    /**
+     * @throws UnsupportedOperationException always; mapped graphs are read-only
+     */
+    @Override
+    public void setNodeDuration(int node, int duration) {
+        throw new UnsupportedOperationException("Mapped graphs are read-only");
+    }
+
+    /**
+     * Mapped graphs are already in CSR form; nothing to do.
+     */
+    @Override
+    public void freeze() {
+    }
+
+    @Override
+    public long edgeStart(int u) { return offsets.get(u); }
+
+    @Override
+    public long edgeEnd(int u) { return offsets.get(u + 1L); }
+
+    @Override
+    public int edgeTarget(long e) { return targets.get(e); }
+
+    @Override
+    public int edgeWeight(long e) { return weights.get(e); }
+
+    @Override
+    public int outDegree(int u) { return (int) (offsets.get(u + 1L) - offsets.get(u)); }
+
+    @Override
+    public int nodeDuration(int node) {
+        return durations == null ? NO_DURATION : durations.get(node);
+    }
+
+    @Override
+    public boolean hasNodeDurations() { return durations != null; }
+
+    /**
+     * Builds the transposed graph off-heap, so a mapped graph is never
+     * copied onto the heap or limited to int-indexed arc arrays.
+     *
+     * @return a new off-heap graph with every edge reversed
+     */
+    @Override
+    public OffHeapGraph reversed() {
+        int n = getN();
+        OffHeapGraph reversed = new OffHeapGraph(n, isDirected(), getWeightModel());
+        for (int u = 0; u < n; u++) {
+            for (long e = edgeStart(u), end = edgeEnd(u); e < end; e++) {
+                reversed.addEdge(edgeTarget(e), u, edgeWeight(e));
+            }
+        }
+        return reversed;
+    }
+
+    @Override
+    public long getArcCount() { return arcCount; }
+}
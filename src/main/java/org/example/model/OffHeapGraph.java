@@ -0,0 +1,199 @@
+package org.example.model;
+
+import java.util.Objects;
+
+/**
+ * {@link Graph} whose arcs live in direct (off-heap) buffers addressed by
+ * {@code long} offsets, so it can hold more than {@code Integer.MAX_VALUE}
+ * arcs and keeps the bulk of the graph out of the garbage collector's way.
+ * <p>
+ * Edges are appended to an off-heap arc log and compacted into off-heap
+ * CSR arrays on first read, just like the on-heap graph. Direct memory is
+ * capped by {@code -XX:MaxDirectMemorySize}, which defaults to the heap
+ * size; raise it when running with a small heap. Buffers are released when
+ * the graph becomes unreachable.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class OffHeapGraph extends Graph {
+    private static final long INITIAL_ARC_CAPACITY = 1024;
+
+    // Off-heap arc log filled by addEdge
+    private SegmentedBuffers.Ints logU;
+    private SegmentedBuffers.Ints logV;
+    private SegmentedBuffers.Ints logW;
+    private long arcCount;
+
+    // Off-heap CSR representation
+    private SegmentedBuffers.Longs offsets;
+    private SegmentedBuffers.Ints targets;
+    private SegmentedBuffers.Ints weights;
+    private boolean frozen;
+
+    /**
+     * Constructs a new off-heap graph with specified parameters.
+     *
+     * @param n the number of nodes in the graph
+     * @param directed whether the graph is directed
+     * @param weightModel the weight model ("edge" or "node")
+     */
+    public OffHeapGraph(int n, boolean directed, String weightModel) {
+        super(n, directed, weightModel);
+        this.logU = SegmentedBuffers.allocateInts(0);
+        this.logV = SegmentedBuffers.allocateInts(0);
+        this.logW = SegmentedBuffers.allocateInts(0);
+    }
+
+    /**
+     * Copies any graph into off-heap storage.
+     *
+     * @param graph the graph to copy
+     * @return an off-heap graph with the same nodes, arcs and metadata
+     */
+    public static OffHeapGraph copyOf(Graph graph) {
+        int n = graph.getN();
+        OffHeapGraph copy = new OffHeapGraph(n, graph.isDirected(), graph.getWeightModel());
+        // Arcs are copied one by one; undirected sources already store both directions
+        for (int u = 0; u < n; u++) {
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                copy.appendArc(u, graph.edgeTarget(e), graph.edgeWeight(e));
+            }
+            int duration = graph.nodeDuration(u);
+            if (duration != NO_DURATION) {
+                copy.setNodeDuration(u, duration);
+            }
+        }
+        copy.setSource(graph.getSource());
+        return copy;
+    }
+
+    @Override
+    public void addEdge(int u, int v, int w) {
+        int n = getN();
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        appendArc(u, v, w);
+        if (!isDirected()) {
+            appendArc(v, u, w);
+        }
+    }
+
+    @Override
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+
+        int n = getN();
+        SegmentedBuffers.Longs off = SegmentedBuffers.allocateLongs(n + 1L);
+        for (long i = 0; i < arcCount; i++) {
+            long slot = logU.get(i) + 1L;
+            off.set(slot, off.get(slot) + 1);
+        }
+        for (long u = 0; u < n; u++) {
+            off.set(u + 1, off.get(u + 1) + off.get(u));
+        }
+
+        // Stable counting sort by source keeps per-node insertion order
+        SegmentedBuffers.Longs cursor = SegmentedBuffers.allocateLongs(Math.max(1, n));
+        for (long u = 0; u < n; u++) {
+            cursor.set(u, off.get(u));
+        }
+        SegmentedBuffers.Ints tgt = SegmentedBuffers.allocateInts(arcCount);
+        SegmentedBuffers.Ints wgt = SegmentedBuffers.allocateInts(arcCount);
+        for (long i = 0; i < arcCount; i++) {
+            int u = logU.get(i);
+            long slot = cursor.get(u);
+            cursor.set(u, slot + 1);
+            tgt.set(slot, logV.get(i));
+            wgt.set(slot, logW.get(i));
+        }
+
+        offsets = off;
+        targets = tgt;
+        weights = wgt;
+        logU = logV = logW = null;
+        frozen = true;
+    }
+
+    /**
+     * Rebuilds the arc log from the CSR arrays so more edges can be added.
+     */
+    private void thaw() {
+        long capacity = Math.max(INITIAL_ARC_CAPACITY, arcCount * 2);
+        logU = SegmentedBuffers.allocateInts(capacity);
+        logV = SegmentedBuffers.allocateInts(capacity);
+        logW = SegmentedBuffers.allocateInts(capacity);
+        for (int u = 0; u < getN(); u++) {
+            for (long e = offsets.get(u), end = offsets.get(u + 1L); e < end; e++) {
+                logU.set(e, u);
+                logV.set(e, targets.get(e));
+                logW.set(e, weights.get(e));
+            }
+        }
+        offsets = null;
+        targets = weights = null;
+        frozen = false;
+    }
+
+    private void appendArc(int u, int v, int w) {
+        if (frozen) {
+            thaw();
+        }
+        if (arcCount == logU.capacity()) {
+            long capacity = Math.max(INITIAL_ARC_CAPACITY, arcCount * 2);
+            logU.ensureCapacity(capacity);
+            logV.ensureCapacity(capacity);
+            logW.ensureCapacity(capacity);
+        }
+        logU.set(arcCount, u);
+        logV.set(arcCount, v);
+        logW.set(arcCount, w);
+        arcCount++;
+    }
+
+    @Override
+    public long edgeStart(int u) {
+        freeze();
+        return offsets.get(u);
+    }
+
+    @Override
+    public long edgeEnd(int u) {
+        freeze();
+        return offsets.get(u + 1L);
+    }
+
+    @Override
+    public int edgeTarget(long e) { return targets.get(e); }
+
+    @Override
+    public int edgeWeight(long e) { return weights.get(e); }
+
+    @Override
+    public int outDegree(int u) {
+        freeze();
+        return Math.toIntExact(offsets.get(u + 1L) - offsets.get(u));
+    }
+
+    /**
+     * Builds the transposed graph off-heap as well.
+     *
+     * @return a new off-heap graph with every edge reversed
+     */
+    @Override
+    public OffHeapGraph reversed() {
+        int n = getN();
+        OffHeapGraph reversed = new OffHeapGraph(n, isDirected(), getWeightModel());
+        for (int u = 0; u < n; u++) {
+            for (long e = edgeStart(u), end = edgeEnd(u); e < end; e++) {
+                reversed.addEdge(edgeTarget(e), u, edgeWeight(e));
+            }
+        }
+        return reversed;
+    }
+
+    @Override
+    public long getArcCount() { return arcCount; }
+}
@@ -0,0 +1,191 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Long-indexed int and long arrays stored outside the Java heap, either in
+ * memory-mapped file sections or in direct buffers.
+ * A single buffer is limited to 2 GB, so arrays are split into fixed-size
+ * segments addressed by the high bits of the element index.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+final class SegmentedBuffers {
+    static final int LARGE_INT_SHIFT = 28;   // 1 GB of ints per segment
+    static final int LARGE_LONG_SHIFT = 27;  // 1 GB of longs per segment
+
+    private SegmentedBuffers() {
+    }
+
+    /**
+     * Maps {@code count} little-endian ints starting at byte {@code position}.
+     */
+    static Ints mapInts(FileChannel channel, long position, long count) throws IOException {
+        IntBuffer[] segments = new IntBuffer[segmentCount(count, LARGE_INT_SHIFT)];
+        for (int s = 0; s < segments.length; s++) {
+            long first = (long) s << LARGE_INT_SHIFT;
+            long length = Math.min(1L << LARGE_INT_SHIFT, count - first);
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                            position + first * Integer.BYTES, length * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+        }
+        return new Ints(segments, LARGE_INT_SHIFT, count);
+    }
+
+    /**
+     * Maps {@code count} little-endian longs starting at byte {@code position}.
+     */
+    static Longs mapLongs(FileChannel channel, long position, long count) throws IOException {
+        LongBuffer[] segments = new LongBuffer[segmentCount(count, LARGE_LONG_SHIFT)];
+        for (int s = 0; s < segments.length; s++) {
+            long first = (long) s << LARGE_LONG_SHIFT;
+            long length = Math.min(1L << LARGE_LONG_SHIFT, count - first);
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                            position + first * Long.BYTES, length * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer();
+        }
+        return new Longs(segments, LARGE_LONG_SHIFT, count);
+    }
+
+    /**
+     * Allocates a zeroed direct int array of exactly {@code count} elements.
+     */
+    static Ints allocateInts(long count) {
+        Ints ints = new Ints(new IntBuffer[0], LARGE_INT_SHIFT, 0);
+        ints.ensureCapacity(count);
+        return ints;
+    }
+
+    /**
+     * Allocates a zeroed direct long array of exactly {@code count} elements.
+     */
+    static Longs allocateLongs(long count) {
+        Longs longs = new Longs(new LongBuffer[0], LARGE_LONG_SHIFT, 0);
+        longs.ensureCapacity(count);
+        return longs;
+    }
+
+    private static int segmentCount(long count, int shift) {
+        return (int) ((count + (1L << shift) - 1) >>> shift);
+    }
+
+    /**
+     * Segmented int array.
+     */
+    static final class Ints {
+        private IntBuffer[] segments;
+        private final int shift;
+        private final long mask;
+        private long capacity;
+
+        Ints(IntBuffer[] segments, int shift, long capacity) {
+            this.segments = segments;
+            this.shift = shift;
+            this.mask = (1L << shift) - 1;
+            this.capacity = capacity;
+        }
+
+        int get(long index) {
+            return segments[(int) (index >>> shift)].get((int) (index & mask));
+        }
+
+        void set(long index, int value) {
+            segments[(int) (index >>> shift)].put((int) (index & mask), value);
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        /**
+         * Appends direct segments until at least {@code count} elements fit.
+         * The last segment is only as long as needed, so exact-size arrays
+         * stay small; growing past it reallocates that tail segment.
+         */
+        void ensureCapacity(long count) {
+            if (count <= capacity) {
+                return;
+            }
+            int oldSegments = segments.length;
+            segments = Arrays.copyOf(segments, segmentCount(count, shift));
+            // A short tail segment is replaced by a larger one
+            int from = oldSegments > 0 && segments[oldSegments - 1].capacity() < (1 << shift)
+                    ? oldSegments - 1 : oldSegments;
+            for (int s = from; s < segments.length; s++) {
+                long first = (long) s << shift;
+                int length = (int) Math.min(1L << shift, count - first);
+                IntBuffer segment = ByteBuffer.allocateDirect(length * Integer.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asIntBuffer();
+                if (s < oldSegments) {
+                    segment.put(segments[s].duplicate().clear());
+                    segment.clear();
+                }
+                segments[s] = segment;
+            }
+            capacity = ((long) (segments.length - 1) << shift) + segments[segments.length - 1].capacity();
+        }
+    }
+
+    /**
+     * Segmented long array.
+     */
+    static final class Longs {
+        private LongBuffer[] segments;
+        private final int shift;
+        private final long mask;
+        private long capacity;
+
+        Longs(LongBuffer[] segments, int shift, long capacity) {
+            this.segments = segments;
+            this.shift = shift;
+            this.mask = (1L << shift) - 1;
+            this.capacity = capacity;
+        }
+
+        long get(long index) {
+            return segments[(int) (index >>> shift)].get((int) (index & mask));
+        }
+
+        void set(long index, long value) {
+            segments[(int) (index >>> shift)].put((int) (index & mask), value);
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        void ensureCapacity(long count) {
+            if (count <= capacity) {
+                return;
+            }
+            int oldSegments = segments.length;
+            segments = Arrays.copyOf(segments, segmentCount(count, shift));
+            // A short tail segment is replaced by a larger one
+            int from = oldSegments > 0 && segments[oldSegments - 1].capacity() < (1 << shift)
+                    ? oldSegments - 1 : oldSegments;
+            for (int s = from; s < segments.length; s++) {
+                long first = (long) s << shift;
+                int length = (int) Math.min(1L << shift, count - first);
+                LongBuffer segment = ByteBuffer.allocateDirect(length * Long.BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asLongBuffer();
+                if (s < oldSegments) {
+                    segment.put(segments[s].duplicate().clear());
+                    segment.clear();
+                }
+                segments[s] = segment;
+            }
+            capacity = ((long) (segments.length - 1) << shift) + segments[segments.length - 1].capacity();
+        }
+    }
+}
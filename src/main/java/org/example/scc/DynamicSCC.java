@@ -0,0 +1,542 @@
+package org.example.scc;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import org.example.topo.EdgeCombinePolicy;
+import org.example.util.IntList;
+import java.util.*;
+
+/**
+ * Maintains strongly connected components and the condensation DAG of a
+ * graph under edge insertions and deletions.
+ * <p>
+ * Inserting an edge between two components only searches the condensation
+ * for a new cycle through that edge and merges the components on it.
+ * Deleting an edge inside a component re-runs Tarjan on that component's
+ * members alone and splits it only if the edge was needed. Deleting an
+ * edge between components never changes the partition. In every case the
+ * work is bounded by the components touched, not by the whole graph.
+ * <p>
+ * Component ids are stable between updates but not contiguous: a merge
+ * keeps the id of the largest merged component and a split keeps the old
+ * id for one part. Snapshots combine parallel condensation edges with an
+ * {@link EdgeCombinePolicy}, minimum weight by default.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class DynamicSCC {
+    private final int n;
+    private final String weightModel;
+
+    // Mutable adjacency of the original graph
+    private final IntList[] outTargets;
+    private final IntList[] outWeights;
+    private final IntList[] inSources;
+    private final IntList[] inWeights;
+
+    // Component of each node and members of each live component
+    private final int[] componentOf;
+    private final List<IntList> members;
+    private final Deque<Integer> freeIds;
+    private int liveComponents;
+
+    // Condensation DAG: weights of every original arc between two components
+    private final List<Map<Integer, IntList>> successors;
+    private final List<Set<Integer>> predecessors;
+
+    // Scratch state for component-local searches, reset via stamps
+    private final int[] stamp;
+    private int currentStamp;
+    private final int[] index;
+    private final int[] lowLink;
+
+    private final Metrics metrics;
+
+    /**
+     * Builds the dynamic structure from the current edges of a graph.
+     *
+     * @param graph the initial graph; later changes to it are not tracked
+     */
+    public DynamicSCC(Graph graph) {
+        this.n = graph.getN();
+        this.weightModel = graph.getWeightModel();
+        this.outTargets = new IntList[n];
+        this.outWeights = new IntList[n];
+        this.inSources = new IntList[n];
+        this.inWeights = new IntList[n];
+        for (int u = 0; u < n; u++) {
+            outTargets[u] = new IntList();
+            outWeights[u] = new IntList();
+            inSources[u] = new IntList();
+            inWeights[u] = new IntList();
+        }
+        for (int u = 0; u < n; u++) {
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                addArc(u, graph.edgeTarget(e), graph.edgeWeight(e));
+            }
+        }
+
+        this.componentOf = new int[n];
+        this.members = new ArrayList<>();
+        this.freeIds = new ArrayDeque<>();
+        this.successors = new ArrayList<>();
+        this.predecessors = new ArrayList<>();
+        this.stamp = new int[n];
+        this.index = new int[n];
+        this.lowLink = new int[n];
+        this.metrics = new Metrics();
+
+        for (List<Integer> component : new TarjanSCC(graph).findSCCs().components) {
+            int id = allocateId();
+            IntList nodes = members.get(id);
+            for (int node : component) {
+                componentOf[node] = id;
+                nodes.add(node);
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = 0; i < outTargets[u].size(); i++) {
+                int cu = componentOf[u];
+                int cv = componentOf[outTargets[u].get(i)];
+                if (cu != cv) {
+                    addInterArc(cu, cv, outWeights[u].get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts a directed edge and merges components if it closes a cycle.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @param w the edge weight
+     * @return true if components were merged
+     */
+    public boolean addEdge(int u, int v, int w) {
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        addArc(u, v, w);
+
+        int cu = componentOf[u];
+        int cv = componentOf[v];
+        if (cu == cv || !addInterArc(cu, cv, w)) {
+            return false;
+        }
+
+        // A new condensation edge cu -> cv closes a cycle iff cv already reaches cu
+        Set<Integer> forward = reach(cv, true, null);
+        if (!forward.contains(cu)) {
+            return false;
+        }
+        Set<Integer> cycle = reach(cu, false, forward);
+        merge(cycle);
+        return true;
+    }
+
+    /**
+     * Removes one directed edge {@code u -> v} and splits its component
+     * if the edge was part of every cycle holding it together.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if an edge was removed
+     */
+    public boolean removeEdge(int u, int v) {
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        int at = outTargets[u].indexOf(v);
+        if (at < 0) {
+            return false;
+        }
+        int w = outWeights[u].get(at);
+        outTargets[u].removeAt(at);
+        outWeights[u].removeAt(at);
+        int back = inSources[v].indexOf(u, inWeights[v], w);
+        inSources[v].removeAt(back);
+        inWeights[v].removeAt(back);
+
+        int cu = componentOf[u];
+        int cv = componentOf[v];
+        if (cu != cv) {
+            removeInterArc(cu, cv, w);
+        } else {
+            splitIfNeeded(cu);
+        }
+        return true;
+    }
+
+    /**
+     * @param node the node identifier
+     * @return the current component id of the node
+     */
+    public int getComponent(int node) {
+        return componentOf[node];
+    }
+
+    /**
+     * @return the number of live components
+     */
+    public int getComponentCount() {
+        return liveComponents;
+    }
+
+    /**
+     * @param compId a live component id
+     * @return the nodes of the component
+     */
+    public List<Integer> getComponentNodes(int compId) {
+        return members.get(compId).toList();
+    }
+
+    /**
+     * @param from a live component id
+     * @param to a live component id
+     * @return true if the condensation DAG has an edge between them
+     */
+    public boolean hasCondensationEdge(int from, int to) {
+        Map<Integer, IntList> out = successors.get(from);
+        return out != null && out.containsKey(to);
+    }
+
+    /**
+     * @param compId a live component id
+     * @return ids of the components the component has edges to
+     */
+    public Set<Integer> getCondensationSuccessors(int compId) {
+        return Collections.unmodifiableSet(successors.get(compId).keySet());
+    }
+
+    /**
+     * @return metrics accumulated by all updates so far
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Snapshots the current partition with contiguous ids, ordered by
+     * smallest member.
+     *
+     * @return SCCResult usable with {@link org.example.topo.CondensationGraph}
+     */
+    public KosarajuSCC.SCCResult toSCCResult() {
+        List<List<Integer>> components = new ArrayList<>(liveComponents);
+        int[] compact = compactIds();
+        for (int i = 0; i < liveComponents; i++) {
+            components.add(new ArrayList<>());
+        }
+        for (int u = 0; u < n; u++) {
+            components.get(compact[componentOf[u]]).add(u);
+        }
+        return new KosarajuSCC.SCCResult(components, metrics);
+    }
+
+    /**
+     * Snapshots the current condensation DAG using the ids of {@link #toSCCResult()},
+     * keeping the minimum weight of parallel edges.
+     *
+     * @return the condensation graph
+     */
+    public Graph toCondensationGraph() {
+        return toCondensationGraph(EdgeCombinePolicy.MIN);
+    }
+
+    /**
+     * Snapshots the current condensation DAG using the ids of {@link #toSCCResult()}.
+     * {@link EdgeCombinePolicy#FIRST} keeps the weight of the oldest surviving edge.
+     *
+     * @param combinePolicy how to weight parallel edges
+     * @return the condensation graph
+     */
+    public Graph toCondensationGraph(EdgeCombinePolicy combinePolicy) {
+        int[] compact = compactIds();
+        Graph condensation = new Graph(liveComponents, true, weightModel);
+        for (int c = 0; c < successors.size(); c++) {
+            Map<Integer, IntList> out = successors.get(c);
+            if (out == null) {
+                continue;
+            }
+            for (Map.Entry<Integer, IntList> edge : out.entrySet()) {
+                condensation.addEdge(compact[c], compact[edge.getKey()], combine(edge.getValue(), combinePolicy));
+            }
+        }
+        return condensation;
+    }
+
+    /**
+     * Maps live ids to 0..k-1 in order of each component's smallest node.
+     */
+    private int[] compactIds() {
+        int[] compact = new int[members.size()];
+        Arrays.fill(compact, -1);
+        int next = 0;
+        for (int u = 0; u < n; u++) {
+            int c = componentOf[u];
+            if (compact[c] < 0) {
+                compact[c] = next++;
+            }
+        }
+        return compact;
+    }
+
+    private void addArc(int u, int v, int w) {
+        outTargets[u].add(v);
+        outWeights[u].add(w);
+        inSources[v].add(u);
+        inWeights[v].add(w);
+    }
+
+    /**
+     * Records an original arc between two components.
+     *
+     * @return true if this created a new condensation edge
+     */
+    private boolean addInterArc(int cu, int cv, int w) {
+        IntList weights = successors.get(cu).get(cv);
+        if (weights != null) {
+            weights.add(w);
+            return false;
+        }
+        weights = new IntList();
+        weights.add(w);
+        successors.get(cu).put(cv, weights);
+        predecessors.get(cv).add(cu);
+        return true;
+    }
+
+    private void removeInterArc(int cu, int cv, int w) {
+        IntList weights = successors.get(cu).get(cv);
+        weights.removeAt(weights.indexOf(w));
+        if (weights.size() == 0) {
+            successors.get(cu).remove(cv);
+            predecessors.get(cv).remove(cu);
+        }
+    }
+
+    /**
+     * Collects components reachable from {@code start} in the condensation,
+     * forward or backward, optionally staying inside {@code within}.
+     */
+    private Set<Integer> reach(int start, boolean forward, Set<Integer> within) {
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        seen.add(start);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            metrics.incrementDfsVisits();
+            Collection<Integer> next = forward ? successors.get(c).keySet() : predecessors.get(c);
+            for (int d : next) {
+                metrics.incrementDfsEdges();
+                if ((within == null || within.contains(d)) && seen.add(d)) {
+                    stack.push(d);
+                }
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Merges a set of components into the largest of them.
+     */
+    private void merge(Set<Integer> merged) {
+        int target = -1;
+        for (int c : merged) {
+            if (target < 0 || members.get(c).size() > members.get(target).size()) {
+                target = c;
+            }
+        }
+
+        for (int c : merged) {
+            // Edges inside the merged set disappear; the rest move to the target
+            for (Map.Entry<Integer, IntList> edge : new ArrayList<>(successors.get(c).entrySet())) {
+                int d = edge.getKey();
+                if (merged.contains(d) || c != target) {
+                    successors.get(c).remove(d);
+                    predecessors.get(d).remove(c);
+                    if (!merged.contains(d)) {
+                        moveWeights(edge.getValue(), target, d);
+                    }
+                }
+            }
+            for (int p : new ArrayList<>(predecessors.get(c))) {
+                if (!merged.contains(p) && c != target) {
+                    IntList weights = successors.get(p).remove(c);
+                    predecessors.get(c).remove(p);
+                    moveWeights(weights, p, target);
+                }
+            }
+        }
+
+        IntList targetMembers = members.get(target);
+        for (int c : merged) {
+            if (c == target) {
+                continue;
+            }
+            IntList nodes = members.get(c);
+            for (int i = 0; i < nodes.size(); i++) {
+                componentOf[nodes.get(i)] = target;
+                targetMembers.add(nodes.get(i));
+            }
+            releaseId(c);
+        }
+    }
+
+    private void moveWeights(IntList weights, int from, int to) {
+        IntList existing = successors.get(from).get(to);
+        if (existing == null) {
+            successors.get(from).put(to, weights);
+            predecessors.get(to).add(from);
+        } else {
+            existing.addAll(weights);
+        }
+    }
+
+    /**
+     * Re-runs Tarjan on one component's members and splits it if needed.
+     */
+    private void splitIfNeeded(int comp) {
+        IntList nodes = members.get(comp);
+        currentStamp++;
+        IntList order = new IntList();
+        IntList parts = new IntList();
+        int[] next = {0};
+        for (int i = 0; i < nodes.size(); i++) {
+            int start = nodes.get(i);
+            if (stamp[start] != currentStamp) {
+                localTarjan(start, comp, next, order, parts);
+            }
+        }
+        if (parts.size() == 1) {
+            return;
+        }
+
+        // Drop condensation edges of the old component, then re-add per part
+        for (int d : new ArrayList<>(successors.get(comp).keySet())) {
+            predecessors.get(d).remove(comp);
+        }
+        for (int p : new ArrayList<>(predecessors.get(comp))) {
+            successors.get(p).remove(comp);
+        }
+        successors.get(comp).clear();
+        predecessors.get(comp).clear();
+        nodes.clear();
+
+        int from = 0;
+        for (int part = 0; part < parts.size(); part++) {
+            int id = part == 0 ? comp : allocateId();
+            IntList partMembers = members.get(id);
+            for (int i = from; i < parts.get(part); i++) {
+                componentOf[order.get(i)] = id;
+                partMembers.add(order.get(i));
+            }
+            from = parts.get(part);
+        }
+
+        for (int i = 0; i < order.size(); i++) {
+            int x = order.get(i);
+            int cx = componentOf[x];
+            for (int j = 0; j < outTargets[x].size(); j++) {
+                int cy = componentOf[outTargets[x].get(j)];
+                if (cx != cy) {
+                    addInterArc(cx, cy, outWeights[x].get(j));
+                }
+            }
+            for (int j = 0; j < inSources[x].size(); j++) {
+                int y = inSources[x].get(j);
+                if (stamp[y] != currentStamp) {
+                    addInterArc(componentOf[y], cx, inWeights[x].get(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterative Tarjan restricted to nodes of component {@code comp}.
+     * Appends nodes to {@code order} grouped by part and records the end
+     * offset of each part in {@code parts}.
+     */
+    private void localTarjan(int start, int comp, int[] next, IntList order, IntList parts) {
+        IntList dfsNodes = new IntList();
+        IntList dfsCursor = new IntList();
+        IntList sccStack = new IntList();
+
+        enter(start, next, sccStack, dfsNodes, dfsCursor);
+        while (dfsNodes.size() > 0) {
+            int top = dfsNodes.size() - 1;
+            int u = dfsNodes.get(top);
+            int cursor = dfsCursor.get(top);
+
+            if (cursor < outTargets[u].size()) {
+                dfsCursor.set(top, cursor + 1);
+                metrics.incrementDfsEdges();
+                int v = outTargets[u].get(cursor);
+                if (componentOf[v] != comp) {
+                    continue;
+                }
+                if (stamp[v] != currentStamp) {
+                    enter(v, next, sccStack, dfsNodes, dfsCursor);
+                } else if (index[v] >= 0 && index[v] < lowLink[u]) {
+                    lowLink[u] = index[v];
+                }
+                continue;
+            }
+
+            dfsNodes.removeLast();
+            dfsCursor.removeLast();
+            if (lowLink[u] == index[u]) {
+                int w;
+                do {
+                    w = sccStack.removeLast();
+                    index[w] = -1; // no longer on the stack
+                    order.add(w);
+                } while (w != u);
+                parts.add(order.size());
+            }
+            if (dfsNodes.size() > 0) {
+                int parent = dfsNodes.get(dfsNodes.size() - 1);
+                if (lowLink[u] < lowLink[parent]) {
+                    lowLink[parent] = lowLink[u];
+                }
+            }
+        }
+    }
+
+    private void enter(int node, int[] next, IntList sccStack, IntList dfsNodes, IntList dfsCursor) {
+        metrics.incrementDfsVisits();
+        stamp[node] = currentStamp;
+        index[node] = lowLink[node] = next[0]++;
+        sccStack.add(node);
+        dfsNodes.add(node);
+        dfsCursor.add(0);
+    }
+
+    private int allocateId() {
+        liveComponents++;
+        if (!freeIds.isEmpty()) {
+            return freeIds.pop();
+        }
+        members.add(new IntList());
+        successors.add(new HashMap<>());
+        predecessors.add(new HashSet<>());
+        return members.size() - 1;
+    }
+
+    private void releaseId(int id) {
+        liveComponents--;
+        members.get(id).clear();
+        successors.get(id).clear();
+        predecessors.get(id).clear();
+        freeIds.push(id);
+    }
+
+    private static int combine(IntList weights, EdgeCombinePolicy policy) {
+        int kept = weights.get(0);
+        for (int i = 1; i < weights.size(); i++) {
+            kept = policy.combine(kept, weights.get(i));
+        }
+        return kept;
+    }
+}
@@ -12,14 +12,19 @@ import java.util.*;
  * @author Your Name
  * @version 1.0
  */
-public class KosarajuSCC {
+public class KosarajuSCC implements SCCFinder {
     private final Graph graph;
     private final boolean[] visited;
-    private final Stack<Integer> stack;
+    private final int[] finishOrder;
+    private int finishCount;
     private final List<List<Integer>> components;
     private final int[] componentId;
     private final Metrics metrics;
 
+    // Explicit DFS stack: node and next arc to scan at each depth
+    private final int[] nodeStack;
+    private final long[] edgeCursor;
+
     /**
      * Constructs an SCC finder for the given graph.
      *
@@ -28,10 +33,12 @@ public class KosarajuSCC {
     public KosarajuSCC(Graph graph) {
         this.graph = graph;
         this.visited = new boolean[graph.getN()];
-        this.stack = new Stack<>();
+        this.finishOrder = new int[graph.getN()];
         this.components = new ArrayList<>();
         this.componentId = new int[graph.getN()];
         this.metrics = new Metrics();
+        this.nodeStack = new int[graph.getN()];
+        this.edgeCursor = new long[graph.getN()];
         Arrays.fill(componentId, -1);
     }
 
@@ -40,10 +47,11 @@ public class KosarajuSCC {
      *
      * @return SCCResult containing components and performance metrics
      */
+    @Override
     public SCCResult findSCCs() {
         metrics.startTimer();
 
-        // First DFS pass: fill stack with finishing times
+        // First DFS pass: record nodes in order of finishing time
         for (int i = 0; i < graph.getN(); i++) {
             if (!visited[i]) {
                 dfsFirstPass(i);
@@ -51,14 +59,14 @@ public class KosarajuSCC {
         }
 
         // Create reversed graph for second pass
-        Graph reversedGraph = reverseGraph();
+        Graph reversedGraph = graph.reversed();
 
-        // Second DFS pass: process in reverse order to find SCCs
+        // Second DFS pass: process in reverse finishing order to find SCCs
         Arrays.fill(visited, false);
         int currentComponent = 0;
 
-        while (!stack.isEmpty()) {
-            int node = stack.pop();
+        for (int i = finishCount - 1; i >= 0; i--) {
+            int node = finishOrder[i];
             if (!visited[node]) {
                 List<Integer> component = new ArrayList<>();
                 dfsSecondPass(reversedGraph, node, component, currentComponent);
@@ -72,61 +80,81 @@ public class KosarajuSCC {
     }
 
     /**
-     * First DFS pass: visits nodes and pushes to stack in post-order.
+     * First DFS pass: visits nodes and records them in post-order.
+     * Iterative, so path length is not bounded by the thread stack.
      *
-     * @param node the starting node for DFS
+     * @param start the starting node for DFS
      */
-    private void dfsFirstPass(int node) {
+    private void dfsFirstPass(int start) {
+        int top = 0;
+        nodeStack[0] = start;
+        edgeCursor[0] = graph.edgeStart(start);
         metrics.incrementDfsVisits();
-        visited[node] = true;
-
-        for (Graph.Edge edge : graph.getEdges(node)) {
-            metrics.incrementDfsEdges();
-            if (!visited[edge.v]) {
-                dfsFirstPass(edge.v);
+        visited[start] = true;
+
+        while (top >= 0) {
+            int node = nodeStack[top];
+            long e = edgeCursor[top];
+
+            if (e < graph.edgeEnd(node)) {
+                edgeCursor[top] = e + 1;
+                metrics.incrementDfsEdges();
+                int v = graph.edgeTarget(e);
+                if (!visited[v]) {
+                    metrics.incrementDfsVisits();
+                    visited[v] = true;
+                    top++;
+                    nodeStack[top] = v;
+                    edgeCursor[top] = graph.edgeStart(v);
+                }
+            } else {
+                finishOrder[finishCount++] = node;
+                top--;
             }
         }
-
-        stack.push(node);
     }
 
     /**
      * Second DFS pass: finds SCCs in the reversed graph.
+     * Nodes are added to the component in pre-order, as the recursive
+     * formulation would.
      *
      * @param reversedGraph the reversed graph
-     * @param node the current node
+     * @param start the starting node
      * @param component the current component being built
      * @param compId the component identifier
      */
-    private void dfsSecondPass(Graph reversedGraph, int node, List<Integer> component, int compId) {
-        metrics.incrementDfsVisits();
-        visited[node] = true;
-        component.add(node);
-        componentId[node] = compId;
-
-        for (Graph.Edge edge : reversedGraph.getEdges(node)) {
-            metrics.incrementDfsEdges();
-            if (!visited[edge.v]) {
-                dfsSecondPass(reversedGraph, edge.v, component, compId);
+    private void dfsSecondPass(Graph reversedGraph, int start, List<Integer> component, int compId) {
+        int top = 0;
+        nodeStack[0] = start;
+        edgeCursor[0] = reversedGraph.edgeStart(start);
+        visit(start, component, compId);
+
+        while (top >= 0) {
+            int node = nodeStack[top];
+            long e = edgeCursor[top];
+
+            if (e < reversedGraph.edgeEnd(node)) {
+                edgeCursor[top] = e + 1;
+                metrics.incrementDfsEdges();
+                int v = reversedGraph.edgeTarget(e);
+                if (!visited[v]) {
+                    visit(v, component, compId);
+                    top++;
+                    nodeStack[top] = v;
+                    edgeCursor[top] = reversedGraph.edgeStart(v);
+                }
+            } else {
+                top--;
             }
         }
     }
 
-    /**
-     * Creates the reversed graph by inverting all edges.
-     *
-     * @return the reversed graph
-     */
-    private Graph reverseGraph() {
-        Graph reversed = new Graph(graph.getN(), graph.isDirected(), graph.getWeightModel());
-
-        for (int u = 0; u < graph.getN(); u++) {
-            for (Graph.Edge edge : graph.getEdges(u)) {
-                reversed.addEdge(edge.v, edge.u, edge.weight);
-            }
-        }
-
-        return reversed;
+    private void visit(int node, List<Integer> component, int compId) {
+        metrics.incrementDfsVisits();
+        visited[node] = true;
+        component.add(node);
+        componentId[node] = compId;
     }
 
     /**
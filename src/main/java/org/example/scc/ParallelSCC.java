@@ -0,0 +1,412 @@
+package org.example.scc;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import org.example.util.IntArrays;
+import org.example.util.IntList;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Multi-core SCC decomposition using forward-backward reachability with trimming.
+ * <p>
+ * Nodes with no remaining in- or out-arcs are first peeled off in parallel
+ * as singleton components. The rest is split recursively: from a pivot,
+ * the nodes reachable both forward and backward form one SCC, and the
+ * forward-only, backward-only and unreached sets are independent
+ * subproblems. Subproblems are kept in a worklist and processed in
+ * parallel rounds, so no task waits on its children and the stack depth
+ * does not grow with the number of components. Each subproblem owns a
+ * color, so traversals only follow arcs inside their own subgraph. Large BFS
+ * frontiers are expanded in parallel as well, which keeps all cores busy
+ * on a single giant component.
+ * <p>
+ * Metrics are striped so workers count without contention; the trimming
+ * and forward-backward phases are timed separately.
+ * <p>
+ * The partition equals {@link KosarajuSCC}'s. Components are ordered by
+ * their smallest node, with nodes ascending, so output is deterministic.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class ParallelSCC implements SCCFinder {
+    private static final int FRONTIER_GRAIN = 512;
+    private static final int DONE = -1;
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+
+    private Graph reversed;
+    private AtomicIntegerArray color;
+    private int[] componentId;
+    private final AtomicInteger nextColor = new AtomicInteger(1);
+    private final AtomicInteger nextComponent = new AtomicInteger();
+
+    /**
+     * Constructs a parallel SCC finder running on the common pool.
+     *
+     * @param graph the graph to analyze
+     */
+    public ParallelSCC(Graph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a parallel SCC finder running on the given pool.
+     *
+     * @param graph the graph to analyze
+     * @param pool the pool to run tasks on
+     */
+    public ParallelSCC(Graph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.metrics = Metrics.concurrent();
+    }
+
+    /**
+     * Finds all strongly connected components in parallel.
+     *
+     * @return SCCResult containing components and performance metrics
+     */
+    @Override
+    public KosarajuSCC.SCCResult findSCCs() {
+        metrics.startTimer();
+
+        int n = graph.getN();
+        graph.freeze();
+        reversed = graph.reversed();
+        reversed.freeze();
+        color = new AtomicIntegerArray(n);
+        componentId = new int[n];
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                metrics.startPhase("trim");
+                trim();
+                metrics.stopPhase("trim");
+                metrics.startPhase("forward-backward");
+                List<Subproblem> work = new ArrayList<>();
+                int[] remaining = collect(0);
+                if (remaining.length > 0) {
+                    work.add(new Subproblem(remaining, 0));
+                }
+                while (!work.isEmpty()) {
+                    work = new RoundTask(work, 0, work.size()).invoke();
+                }
+                metrics.stopPhase("forward-backward");
+            }
+        });
+
+        List<List<Integer>> components = groupComponents();
+        metrics.stopTimer();
+        return new KosarajuSCC.SCCResult(components, metrics);
+    }
+
+    /**
+     * Repeatedly removes nodes whose in- or out-degree among the remaining
+     * nodes is zero; each one is a component by itself.
+     */
+    private void trim() {
+        int n = graph.getN();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        AtomicIntegerArray outDegree = new AtomicIntegerArray(n);
+        for (int u = 0; u < n; u++) {
+            inDegree.set(u, reversed.outDegree(u));
+            outDegree.set(u, graph.outDegree(u));
+        }
+
+        int[] frontier = new int[n];
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            if ((inDegree.get(u) == 0 || outDegree.get(u) == 0) && claimSingleton(u)) {
+                frontier[size++] = u;
+            }
+        }
+        frontier = Arrays.copyOf(frontier, size);
+
+        while (frontier.length > 0) {
+            frontier = new TrimTask(frontier, 0, frontier.length, inDegree, outDegree).invoke();
+        }
+    }
+
+    private boolean claimSingleton(int u) {
+        if (!color.compareAndSet(u, 0, DONE)) {
+            return false;
+        }
+        metrics.incrementDfsVisits();
+        componentId[u] = nextComponent.getAndIncrement();
+        return true;
+    }
+
+    private int[] collect(int c) {
+        int count = 0;
+        int[] nodes = new int[graph.getN()];
+        for (int u = 0; u < nodes.length; u++) {
+            if (color.get(u) == c) {
+                nodes[count++] = u;
+            }
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    /**
+     * Orders components by smallest member and lists members ascending.
+     */
+    private List<List<Integer>> groupComponents() {
+        int n = graph.getN();
+        int[] outputIndex = new int[nextComponent.get()];
+        Arrays.fill(outputIndex, -1);
+        List<List<Integer>> components = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            int id = componentId[u];
+            if (outputIndex[id] < 0) {
+                outputIndex[id] = components.size();
+                components.add(new ArrayList<>());
+            }
+            components.get(outputIndex[id]).add(u);
+        }
+        return components;
+    }
+
+    /**
+     * Expands one trimming frontier and returns the next one.
+     */
+    private final class TrimTask extends RecursiveTask<int[]> {
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final AtomicIntegerArray inDegree;
+        private final AtomicIntegerArray outDegree;
+
+        TrimTask(int[] frontier, int from, int to, AtomicIntegerArray inDegree, AtomicIntegerArray outDegree) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.inDegree = inDegree;
+            this.outDegree = outDegree;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                TrimTask left = new TrimTask(frontier, from, mid, inDegree, outDegree);
+                left.fork();
+                int[] right = new TrimTask(frontier, mid, to, inDegree, outDegree).compute();
+                return IntArrays.concat(left.join(), right);
+            }
+
+            IntList next = new IntList(16);
+            long scanned = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    scanned++;
+                    int v = graph.edgeTarget(e);
+                    if (inDegree.decrementAndGet(v) == 0 && claimSingleton(v)) {
+                        next.add(v);
+                    }
+                }
+                for (long e = reversed.edgeStart(u), end = reversed.edgeEnd(u); e < end; e++) {
+                    scanned++;
+                    int w = reversed.edgeTarget(e);
+                    if (outDegree.decrementAndGet(w) == 0 && claimSingleton(w)) {
+                        next.add(w);
+                    }
+                }
+            }
+            metrics.addDfsEdges(scanned);
+            return next.toArray();
+        }
+    }
+
+    /**
+     * A set of nodes that all hold one color and form a closed subgraph.
+     */
+    private static final class Subproblem {
+        final int[] nodes;
+        final int color;
+
+        Subproblem(int[] nodes, int color) {
+            this.nodes = nodes;
+            this.color = color;
+        }
+    }
+
+    /**
+     * Runs one forward-backward step on each subproblem of a slice of the
+     * worklist and returns the subproblems left over. No task waits on the
+     * subproblems it creates, so stack depth stays bounded however many
+     * components lie in a chain.
+     */
+    private final class RoundTask extends RecursiveTask<List<Subproblem>> {
+        private final List<Subproblem> work;
+        private final int from;
+        private final int to;
+
+        RoundTask(List<Subproblem> work, int from, int to) {
+            this.work = work;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Subproblem> compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                RoundTask left = new RoundTask(work, from, mid);
+                left.fork();
+                List<Subproblem> next = new RoundTask(work, mid, to).compute();
+                next.addAll(left.join());
+                return next;
+            }
+            List<Subproblem> next = new ArrayList<>(3);
+            if (to > from) {
+                split(work.get(from), next);
+            }
+            return next;
+        }
+
+        /**
+         * Peels the pivot's component off a subproblem and queues the
+         * forward-only, backward-only and unreached remainders.
+         */
+        private void split(Subproblem problem, List<Subproblem> next) {
+            int c = problem.color;
+            int pivot = problem.nodes[0];
+            int fw = nextColor.getAndIncrement();
+            int bw = nextColor.getAndIncrement();
+            int scc = nextColor.getAndIncrement();
+
+            color.set(pivot, fw);
+            metrics.incrementDfsVisits();
+            traverse(graph, pivot, c, fw, NONE, NONE);
+
+            color.set(pivot, scc);
+            traverse(reversed, pivot, fw, scc, c, bw);
+
+            int component = nextComponent.getAndIncrement();
+            int[][] parts = partition(problem.nodes, c, fw, bw, scc, component);
+            if (parts[0].length > 0) {
+                next.add(new Subproblem(parts[0], c));
+            }
+            if (parts[1].length > 0) {
+                next.add(new Subproblem(parts[1], fw));
+            }
+            if (parts[2].length > 0) {
+                next.add(new Subproblem(parts[2], bw));
+            }
+        }
+
+        /**
+         * Splits nodes into unreached, forward-only and backward-only sets;
+         * nodes reached both ways get the component id.
+         */
+        private int[][] partition(int[] nodes, int rest, int fw, int bw, int scc, int component) {
+            // Count first so each part is allocated at its exact size
+            int[] sizes = new int[3];
+            for (int u : nodes) {
+                int uc = color.get(u);
+                if (uc == rest) {
+                    sizes[0]++;
+                } else if (uc == fw) {
+                    sizes[1]++;
+                } else if (uc == bw) {
+                    sizes[2]++;
+                }
+            }
+            int[][] parts = {new int[sizes[0]], new int[sizes[1]], new int[sizes[2]]};
+            Arrays.fill(sizes, 0);
+            for (int u : nodes) {
+                int uc = color.get(u);
+                if (uc == scc) {
+                    componentId[u] = component;
+                    color.set(u, DONE);
+                } else if (uc == rest) {
+                    parts[0][sizes[0]++] = u;
+                } else if (uc == fw) {
+                    parts[1][sizes[1]++] = u;
+                } else if (uc == bw) {
+                    parts[2][sizes[2]++] = u;
+                }
+            }
+            return parts;
+        }
+    }
+
+    /**
+     * Level-synchronous BFS from {@code start} that recolors every reached
+     * node from {@code expect} to {@code replace}, or from {@code altExpect}
+     * to {@code altReplace} unless that pair is {@link #NONE}. Nodes of any
+     * other color are not entered.
+     */
+    private void traverse(Graph g, int start, int expect, int replace, int altExpect, int altReplace) {
+        int[] frontier = {start};
+        while (frontier.length > 0) {
+            frontier = new FrontierTask(g, frontier, 0, frontier.length,
+                    expect, replace, altExpect, altReplace).invoke();
+        }
+    }
+
+    /**
+     * Expands a slice of a BFS frontier, splitting large slices across workers.
+     */
+    private final class FrontierTask extends RecursiveTask<int[]> {
+        private final Graph g;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final int expect;
+        private final int replace;
+        private final int altExpect;
+        private final int altReplace;
+
+        FrontierTask(Graph g, int[] frontier, int from, int to,
+                     int expect, int replace, int altExpect, int altReplace) {
+            this.g = g;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.expect = expect;
+            this.replace = replace;
+            this.altExpect = altExpect;
+            this.altReplace = altReplace;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                FrontierTask left = new FrontierTask(g, frontier, from, mid, expect, replace, altExpect, altReplace);
+                left.fork();
+                int[] right = new FrontierTask(g, frontier, mid, to, expect, replace, altExpect, altReplace).compute();
+                return IntArrays.concat(left.join(), right);
+            }
+
+            IntList next = new IntList(16);
+            long scanned = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (long e = g.edgeStart(u), end = g.edgeEnd(u); e < end; e++) {
+                    scanned++;
+                    int v = g.edgeTarget(e);
+                    if (color.compareAndSet(v, expect, replace)
+                            || (altExpect != NONE && color.compareAndSet(v, altExpect, altReplace))) {
+                        next.add(v);
+                    }
+                }
+            }
+            metrics.addDfsEdges(scanned);
+            metrics.addDfsVisits(next.size());
+            return next.toArray();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.scc;
+
+import org.example.model.Graph;
+import java.util.Locale;
+
+/**
+ * Selects an SCC implementation. All engines produce the same partition;
+ * the order of nodes inside a component may differ.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public enum SCCEngine {
+    /** Two-pass Kosaraju; builds the transposed graph. */
+    KOSARAJU,
+    /** Single-pass Tarjan; no transposed graph. */
+    TARJAN,
+    /** Fork/join forward-backward reachability with trimming. */
+    PARALLEL,
+    /** Forward-backward rounds over worker processes, one per shard ({@code -Dscc.shards}, default 2). */
+    SHARDED;
+
+    /**
+     * Creates a finder of this engine for the given graph.
+     *
+     * @param graph the graph to analyze
+     * @return a new SCC finder
+     */
+    public SCCFinder create(Graph graph) {
+        switch (this) {
+            case TARJAN:
+                return new TarjanSCC(graph);
+            case PARALLEL:
+                return new ParallelSCC(graph);
+            case SHARDED:
+                return new ShardedSCC(graph, Integer.getInteger("scc.shards", 2));
+            case KOSARAJU:
+            default:
+                return new KosarajuSCC(graph);
+        }
+    }
+
+    /**
+     * Parses an engine name case-insensitively.
+     *
+     * @param name the engine name, e.g. "tarjan"
+     * @return the matching engine
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static SCCEngine fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
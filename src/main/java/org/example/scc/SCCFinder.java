@@ -0,0 +1,17 @@
+package org.example.scc;
+
+/**
+ * Common interface of the strongly connected component engines.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public interface SCCFinder {
+
+    /**
+     * Finds all strongly connected components of the graph.
+     *
+     * @return SCCResult containing components and performance metrics
+     */
+    KosarajuSCC.SCCResult findSCCs();
+}
@@ -0,0 +1,414 @@
+package org.example.scc;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * One worker process of {@link ShardedSCC}.
+ * <p>
+ * A worker loads a single shard file: the out-arcs and in-arcs of a
+ * contiguous range of nodes. Only that range's state (component,
+ * subproblem color, label, degrees) lives in this JVM. Rounds run as
+ * supersteps driven by the coordinator over a loopback socket. In each step
+ * a worker applies the messages addressed to it in the previous step and
+ * expands whatever changed. Arcs inside the shard are followed at once, so
+ * a superstep runs until the shard's local work is exhausted. Arcs leaving
+ * the shard become records in one spool file per destination shard. The
+ * reply reports how many records were written, so the coordinator knows
+ * when a phase has converged.
+ * <p>
+ * Usage: {@code ShardWorker <port> <shard file> <spool dir>}
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class ShardWorker {
+    static final int SHARD_MAGIC = 0x53484431; // "SHD1"
+
+    // Commands sent by the coordinator
+    static final int TRIM = 1;
+    static final int FORWARD = 2;
+    static final int BACKWARD = 3;
+    static final int RELABEL = 4;
+    static final int COLLECT = 5;
+    static final int EXIT = 6;
+
+    private static final int ACTIVE = -1;
+
+    private final int n;
+    private final int shards;
+    private final int id;
+    private final int lo;
+    private final int hi;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final Path spool;
+
+    // Per owned node, indexed by node - lo
+    private final int[] component;
+    private final int[] color;
+    private final int[] label;
+    private final boolean[] reached;
+    private final boolean[] queued;
+    private final int[] inDegree;
+    private final int[] outDegree;
+    private boolean counting;
+
+    private int[] frontier = new int[16];
+    private int frontierSize;
+    private DataOutputStream[] outbox;
+    private int step;
+    private long sent;
+
+    ShardWorker(DataInputStream in, Path spool) throws IOException {
+        if (in.readInt() != SHARD_MAGIC) {
+            throw new IOException("Not a shard file");
+        }
+        this.n = in.readInt();
+        this.shards = in.readInt();
+        this.id = in.readInt();
+        this.lo = in.readInt();
+        this.hi = in.readInt();
+        this.outOffsets = readInts(in, hi - lo + 1);
+        this.outTargets = readInts(in, outOffsets[hi - lo]);
+        this.inOffsets = readInts(in, hi - lo + 1);
+        this.inSources = readInts(in, inOffsets[hi - lo]);
+        this.spool = spool;
+
+        int size = hi - lo;
+        this.component = new int[size];
+        Arrays.fill(component, ACTIVE);
+        this.color = new int[size];
+        this.label = new int[size];
+        this.reached = new boolean[size];
+        this.queued = new boolean[size];
+        this.inDegree = new int[size];
+        this.outDegree = new int[size];
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        ShardWorker worker;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(args[1]))))) {
+            worker = new ShardWorker(in, Paths.get(args[2]));
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(worker.id);
+            out.flush();
+            worker.serve(in, out);
+        }
+    }
+
+    /**
+     * Order in which labels win during forward propagation. The mix is a
+     * bijection, so priorities are distinct, but they do not follow node
+     * ids. A chain numbered in either direction therefore looks random to
+     * the propagation.
+     */
+    static int priority(int node) {
+        int h = node;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Executes coordinator commands until told to exit.
+     */
+    void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            int command = in.readInt();
+            switch (command) {
+                case TRIM:
+                case FORWARD:
+                case BACKWARD: {
+                    int step = in.readInt();
+                    boolean first = in.readBoolean();
+                    out.writeLong(superstep(command, step, first));
+                    break;
+                }
+                case RELABEL:
+                    out.writeInt(relabel());
+                    break;
+                case COLLECT:
+                    for (int c : component) {
+                        out.writeInt(c);
+                    }
+                    break;
+                case EXIT:
+                    return;
+                default:
+                    throw new IOException("Unknown command " + command);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs one superstep of a phase.
+     *
+     * @param step the step number; messages of step - 1 are consumed first
+     * @param first whether this step starts the phase and seeds it
+     * @return the number of messages written
+     */
+    private long superstep(int phase, int step, boolean first) throws IOException {
+        this.step = step;
+        this.sent = 0;
+        this.frontierSize = 0;
+        this.outbox = new DataOutputStream[shards];
+        try {
+            if (first) {
+                seed(phase);
+            } else {
+                consume(phase, step - 1);
+            }
+            for (int i = 0; i < frontierSize; i++) {
+                int u = frontier[i];
+                queued[u - lo] = false;
+                expand(phase, u);
+            }
+        } finally {
+            for (DataOutputStream box : outbox) {
+                if (box != null) {
+                    box.close();
+                }
+            }
+        }
+        return sent;
+    }
+
+    private void seed(int phase) throws IOException {
+        int size = hi - lo;
+        if (phase == TRIM) {
+            // Degrees are counted within each subproblem: every active node
+            // announces itself to its neighbors, which keep matching colors
+            Arrays.fill(inDegree, 0);
+            Arrays.fill(outDegree, 0);
+            counting = true;
+            for (int i = 0; i < size; i++) {
+                if (component[i] != ACTIVE) {
+                    continue;
+                }
+                int u = lo + i;
+                for (int e = outOffsets[i]; e < outOffsets[i + 1]; e++) {
+                    if (outTargets[e] != u) {
+                        trimMessage(outTargets[e], false, color[i]);
+                    }
+                }
+                for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                    if (inSources[e] != u) {
+                        trimMessage(inSources[e], true, color[i]);
+                    }
+                }
+            }
+        } else if (phase == FORWARD) {
+            for (int i = 0; i < size; i++) {
+                if (component[i] == ACTIVE) {
+                    label[i] = lo + i;
+                    push(lo + i);
+                }
+            }
+        } else {
+            // Every node that kept its own label is a root: nothing of higher priority reaches it
+            for (int i = 0; i < size; i++) {
+                if (component[i] == ACTIVE && label[i] == lo + i) {
+                    reached[i] = true;
+                    push(lo + i);
+                }
+            }
+        }
+    }
+
+    private void consume(int phase, int step) throws IOException {
+        // Records are fixed-size: trim (node, color), forward (node, color, label), backward (node, label)
+        int recordSize = phase == FORWARD ? 3 * Integer.BYTES : 2 * Integer.BYTES;
+        for (int from = 0; from < shards; from++) {
+            Path file = spoolFile(step, from, id);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            long count = Files.size(file) / recordSize;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                for (long k = 0; k < count; k++) {
+                    if (phase == TRIM) {
+                        int encoded = in.readInt();
+                        applyTrim(encoded < 0 ? ~encoded : encoded, encoded < 0, in.readInt());
+                    } else if (phase == FORWARD) {
+                        applyForward(in.readInt(), in.readInt(), in.readInt());
+                    } else {
+                        applyBackward(in.readInt(), in.readInt());
+                    }
+                }
+            }
+            Files.delete(file);
+        }
+
+        if (phase == TRIM && counting) {
+            counting = false;
+            for (int i = 0; i < hi - lo; i++) {
+                if (component[i] == ACTIVE && (inDegree[i] == 0 || outDegree[i] == 0)) {
+                    component[i] = lo + i;
+                    push(lo + i);
+                }
+            }
+        }
+    }
+
+    private void expand(int phase, int u) throws IOException {
+        int i = u - lo;
+        if (phase == TRIM) {
+            for (int e = outOffsets[i]; e < outOffsets[i + 1]; e++) {
+                if (outTargets[e] != u) {
+                    trimMessage(outTargets[e], false, color[i]);
+                }
+            }
+            for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                if (inSources[e] != u) {
+                    trimMessage(inSources[e], true, color[i]);
+                }
+            }
+        } else if (phase == FORWARD) {
+            for (int e = outOffsets[i]; e < outOffsets[i + 1]; e++) {
+                int v = outTargets[e];
+                if (v >= lo && v < hi) {
+                    applyForward(v, color[i], label[i]);
+                } else {
+                    DataOutputStream box = send(v);
+                    box.writeInt(v);
+                    box.writeInt(color[i]);
+                    box.writeInt(label[i]);
+                }
+            }
+        } else {
+            for (int e = inOffsets[i]; e < inOffsets[i + 1]; e++) {
+                int w = inSources[e];
+                if (w >= lo && w < hi) {
+                    applyBackward(w, label[i]);
+                } else {
+                    DataOutputStream box = send(w);
+                    box.writeInt(w);
+                    box.writeInt(label[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells {@code node} about an active neighbor of the given color: while
+     * counting it raises a degree, afterwards it lowers one. Out-degree
+     * changes are sent with the node ~encoded.
+     */
+    private void trimMessage(int node, boolean outSide, int c) throws IOException {
+        if (node >= lo && node < hi) {
+            applyTrim(node, outSide, c);
+        } else {
+            DataOutputStream box = send(node);
+            box.writeInt(outSide ? ~node : node);
+            box.writeInt(c);
+        }
+    }
+
+    private void applyTrim(int node, boolean outSide, int c) {
+        int i = node - lo;
+        if (component[i] != ACTIVE || color[i] != c) {
+            return;
+        }
+        int delta = counting ? 1 : -1;
+        int remaining = outSide ? (outDegree[i] += delta) : (inDegree[i] += delta);
+        if (!counting && remaining == 0) {
+            component[i] = node;
+            push(node);
+        }
+    }
+
+    private void applyForward(int node, int c, int l) {
+        int i = node - lo;
+        if (component[i] == ACTIVE && color[i] == c && priority(l) > priority(label[i])) {
+            label[i] = l;
+            if (!queued[i]) {
+                push(node);
+            }
+        }
+    }
+
+    private void applyBackward(int node, int l) {
+        // A label belongs to a single subproblem, so matching it also matches the color
+        int i = node - lo;
+        if (component[i] == ACTIVE && label[i] == l && !reached[i]) {
+            reached[i] = true;
+            push(node);
+        }
+    }
+
+    /**
+     * Returns the spool stream towards the owner of {@code node}, opening it on first use.
+     */
+    private DataOutputStream send(int node) throws IOException {
+        int to = ShardedSCC.owner(node, n, shards);
+        DataOutputStream box = outbox[to];
+        if (box == null) {
+            box = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spoolFile(step, id, to))));
+            outbox[to] = box;
+        }
+        sent++;
+        return box;
+    }
+
+    private Path spoolFile(int step, int from, int to) {
+        return spool.resolve("s" + step + "-" + from + "-" + to + ".msg");
+    }
+
+    private void push(int u) {
+        if (frontierSize == frontier.length) {
+            frontier = Arrays.copyOf(frontier, frontierSize * 2);
+        }
+        queued[u - lo] = true;
+        frontier[frontierSize++] = u;
+    }
+
+    /**
+     * Closes the round. Nodes reached backward from their root join the
+     * root's component. Every other node moves to the subproblem named by
+     * its label. A strongly connected component never spans two labels,
+     * and each label belongs to a single old subproblem, so the new colors
+     * of different subproblems never collide.
+     *
+     * @return the number of nodes still active
+     */
+    private int relabel() {
+        int active = 0;
+        for (int i = 0; i < hi - lo; i++) {
+            if (component[i] != ACTIVE) {
+                continue;
+            }
+            if (reached[i]) {
+                component[i] = label[i];
+            } else {
+                color[i] = label[i];
+                active++;
+            }
+            reached[i] = false;
+        }
+        return active;
+    }
+}
@@ -0,0 +1,377 @@
+package org.example.scc;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * SCC decomposition spread over several worker JVMs on one machine, for
+ * graphs whose arcs do not fit a single heap.
+ * <p>
+ * Nodes are split into contiguous ranges, one per shard. Each shard file
+ * holds the out-arcs and in-arcs of its range and is written in two passes
+ * over the graph per shard. The input can therefore be a memory-mapped or
+ * off-heap {@link Graph}, and no copy of the whole arc set is made. Each
+ * shard is loaded by its own {@link ShardWorker} process.
+ * <p>
+ * This coordinator keeps only per-node component ids. It drives rounds
+ * of supersteps, and each round has three parts:
+ * <ol>
+ *   <li>Trimming inside each open subproblem, which peels off nodes with
+ *       no in- or out-arcs left.</li>
+ *   <li>Forward coloring. Every node takes the highest-priority label that
+ *       reaches it within its subproblem. A node that keeps its own label
+ *       is a root.</li>
+ *   <li>A backward pass from every root over the nodes sharing its label,
+ *       which closes the root's component.</li>
+ * </ol>
+ * All roots, at least one per subproblem, finish in the same round. The
+ * remaining nodes are regrouped by label. Priorities are a fixed hash of
+ * the node id, so a chain of components numbered in either direction
+ * finishes many components per round instead of one. Arcs inside a shard are
+ * followed within one superstep. Only arcs between shards cost a message
+ * exchange. Workers exchange those messages through spool files and
+ * synchronize over a loopback socket.
+ * <p>
+ * Worst case: a round can still finish only one component of a
+ * subproblem, namely when the hashed priorities happen to decrease along
+ * a long path of components. The number of rounds is then bounded by the
+ * number of components on that path, each round costing O(V + E) work and
+ * one superstep per shard crossing of the propagation. Label propagation
+ * may also revisit a node once for each higher label that reaches it.
+ * <p>
+ * Every component is identified by one of its nodes. Components are
+ * ordered by their smallest node, with nodes ascending, as in
+ * {@link ParallelSCC}.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class ShardedSCC implements SCCFinder {
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+    // Longest wait for one worker reply; -Dscc.shard.timeoutMillis, default 10 minutes
+    private static final int REPLY_TIMEOUT_MILLIS = Integer.getInteger("scc.shard.timeoutMillis", 600_000);
+
+    private final Graph graph;
+    private final int shards;
+    private final Path workDir;
+    private final Metrics metrics;
+
+    private DataInputStream[] in;
+    private DataOutputStream[] out;
+    private int step;
+    private int rounds;
+
+    /**
+     * Constructs a sharded SCC finder working in a temporary directory.
+     *
+     * @param graph the graph to analyze
+     * @param shards the number of worker processes
+     */
+    public ShardedSCC(Graph graph, int shards) {
+        this(graph, shards, null);
+    }
+
+    /**
+     * Constructs a sharded SCC finder.
+     *
+     * @param graph the graph to analyze
+     * @param shards the number of worker processes
+     * @param workDir parent of the per-run directory for shard and spool files,
+     *                or null for the system temporary directory
+     */
+    public ShardedSCC(Graph graph, int shards, Path workDir) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shards must be positive: " + shards);
+        }
+        this.graph = graph;
+        this.shards = shards;
+        this.workDir = workDir;
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * @param node a node
+     * @param n the number of nodes
+     * @param shards the number of shards
+     * @return the shard owning the node
+     */
+    static int owner(int node, int n, int shards) {
+        return node / blockSize(n, shards);
+    }
+
+    private static int blockSize(int n, int shards) {
+        return Math.max(1, (int) (((long) n + shards - 1) / shards));
+    }
+
+    /**
+     * Finds all strongly connected components using worker processes.
+     *
+     * @return SCCResult containing components and performance metrics
+     * @throws UncheckedIOException if a worker fails or the files cannot be written
+     */
+    @Override
+    public KosarajuSCC.SCCResult findSCCs() {
+        step = 0;
+        rounds = 0;
+        metrics.startTimer();
+        Path dir = null;
+        List<Process> workers = new ArrayList<>();
+        try {
+            // A fresh directory per run, so cleanup never touches anything it did not create
+            dir = workDir != null
+                    ? Files.createTempDirectory(Files.createDirectories(workDir), "scc-shards")
+                    : Files.createTempDirectory("scc-shards");
+            Path spool = Files.createDirectories(dir.resolve("spool"));
+
+            metrics.startPhase("partition");
+            List<Path> files = writeShards(dir);
+            metrics.stopPhase("partition");
+
+            try (ServerSocket server = new ServerSocket(0, shards, InetAddress.getLoopbackAddress())) {
+                server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                for (Path file : files) {
+                    workers.add(launch(server.getLocalPort(), file, spool));
+                }
+                connect(server);
+            }
+
+            int[] component = run();
+            metrics.stopTimer();
+            return new KosarajuSCC.SCCResult(groupComponents(component), metrics);
+        } catch (IOException e) {
+            throw new UncheckedIOException(describeFailure(workers, e), e);
+        } finally {
+            for (Process worker : workers) {
+                worker.destroy();
+            }
+            if (dir != null) {
+                deleteWorkFiles(dir);
+            }
+        }
+    }
+
+    /**
+     * Writes one shard file per node range: its out-arc and in-arc lists.
+     */
+    private List<Path> writeShards(Path dir) throws IOException {
+        int n = graph.getN();
+        int block = blockSize(n, shards);
+        graph.freeze();
+        List<Path> files = new ArrayList<>();
+        for (int s = 0; s < shards; s++) {
+            int lo = Math.min(n, s * block);
+            int hi = Math.min(n, lo + block);
+            Path file = dir.resolve("shard-" + s + ".bin");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                out.writeInt(ShardWorker.SHARD_MAGIC);
+                out.writeInt(n);
+                out.writeInt(shards);
+                out.writeInt(s);
+                out.writeInt(lo);
+                out.writeInt(hi);
+
+                long arcs = 0;
+                out.writeInt(0);
+                for (int u = lo; u < hi; u++) {
+                    arcs += graph.outDegree(u);
+                    out.writeInt(Math.toIntExact(arcs));
+                }
+                for (int u = lo; u < hi; u++) {
+                    for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                        out.writeInt(graph.edgeTarget(e));
+                    }
+                }
+
+                // In-arcs: count, then fill, each with one scan over all arcs
+                int[] inOffsets = new int[hi - lo + 1];
+                for (int u = 0; u < n; u++) {
+                    for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                        int v = graph.edgeTarget(e);
+                        if (v >= lo && v < hi) {
+                            inOffsets[v - lo + 1]++;
+                        }
+                    }
+                }
+                for (int i = 0; i < hi - lo; i++) {
+                    inOffsets[i + 1] = Math.addExact(inOffsets[i + 1], inOffsets[i]);
+                }
+                int[] inSources = new int[inOffsets[hi - lo]];
+                int[] fill = Arrays.copyOf(inOffsets, hi - lo);
+                for (int u = 0; u < n; u++) {
+                    for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                        int v = graph.edgeTarget(e);
+                        if (v >= lo && v < hi) {
+                            inSources[fill[v - lo]++] = u;
+                        }
+                    }
+                }
+                for (int offset : inOffsets) {
+                    out.writeInt(offset);
+                }
+                for (int source : inSources) {
+                    out.writeInt(source);
+                }
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    private Process launch(int port, Path shardFile, Path spool) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        // Workers only need this project's classes; java.class.path is Maven's own under exec:java
+        String classPath;
+        try {
+            classPath = Paths.get(ShardWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IOException("Cannot locate worker classes", e);
+        }
+        return new ProcessBuilder(java, "-cp", classPath,
+                ShardWorker.class.getName(), String.valueOf(port), shardFile.toString(), spool.toString())
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private void connect(ServerSocket server) throws IOException {
+        in = new DataInputStream[shards];
+        out = new DataOutputStream[shards];
+        for (int i = 0; i < shards; i++) {
+            Socket socket = server.accept();
+            socket.setSoTimeout(REPLY_TIMEOUT_MILLIS);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            int id = input.readInt();
+            in[id] = input;
+            out[id] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+    }
+
+    /**
+     * Drives rounds of trimming and forward-backward coloring until every
+     * node has a component, then gathers the component table.
+     */
+    private int[] run() throws IOException {
+        boolean active = true;
+        while (active) {
+            metrics.startPhase("trim");
+            // Counting degrees takes one exchange before removals can start
+            runPhase(ShardWorker.TRIM, 2);
+            metrics.stopPhase("trim");
+
+            metrics.startPhase("forward-backward");
+            runPhase(ShardWorker.FORWARD, 1);
+            runPhase(ShardWorker.BACKWARD, 1);
+            broadcast(ShardWorker.RELABEL);
+            active = false;
+            for (int s = 0; s < shards; s++) {
+                active |= in[s].readInt() > 0;
+            }
+            metrics.stopPhase("forward-backward");
+            rounds++;
+        }
+
+        int n = graph.getN();
+        int block = blockSize(n, shards);
+        int[] component = new int[n];
+        broadcast(ShardWorker.COLLECT);
+        for (int s = 0; s < shards; s++) {
+            for (int u = Math.min(n, s * block), hi = Math.min(n, u + block); u < hi; u++) {
+                component[u] = in[s].readInt();
+            }
+        }
+        metrics.addDfsVisits(n);
+        broadcast(ShardWorker.EXIT);
+        return component;
+    }
+
+    /**
+     * Runs supersteps of one phase until no worker sends a message.
+     *
+     * @param minSteps supersteps to run even if no messages are sent
+     */
+    private void runPhase(int phase, int minSteps) throws IOException {
+        long sent;
+        int steps = 0;
+        do {
+            step++;
+            for (DataOutputStream o : out) {
+                o.writeInt(phase);
+                o.writeInt(step);
+                o.writeBoolean(steps == 0);
+                o.flush();
+            }
+            sent = 0;
+            for (DataInputStream i : in) {
+                sent += i.readLong();
+            }
+            metrics.addDfsEdges(sent);
+            steps++;
+        } while (sent > 0 || steps < minSteps);
+    }
+
+    /**
+     * @return the number of trim and forward-backward rounds of the last run
+     */
+    public int getRounds() { return rounds; }
+
+    private void broadcast(int command) throws IOException {
+        for (DataOutputStream o : out) {
+            o.writeInt(command);
+            o.flush();
+        }
+    }
+
+    /**
+     * Turns the table of component representatives into components ordered by smallest member.
+     */
+    private static List<List<Integer>> groupComponents(int[] component) {
+        Map<Integer, List<Integer>> byRepresentative = new HashMap<>();
+        List<List<Integer>> components = new ArrayList<>();
+        for (int u = 0; u < component.length; u++) {
+            // Scanning nodes in order creates each component at its smallest member
+            List<Integer> members = byRepresentative.get(component[u]);
+            if (members == null) {
+                members = new ArrayList<>();
+                byRepresentative.put(component[u], members);
+                components.add(members);
+            }
+            members.add(u);
+        }
+        return components;
+    }
+
+    private static String describeFailure(List<Process> workers, IOException e) {
+        StringBuilder message = new StringBuilder("Sharded SCC failed: " + e.getMessage());
+        if (e instanceof SocketTimeoutException) {
+            message.append("; no worker reply within ").append(REPLY_TIMEOUT_MILLIS).append(" ms");
+        }
+        for (int s = 0; s < workers.size(); s++) {
+            if (!workers.get(s).isAlive()) {
+                message.append("; worker ").append(s).append(" exited with ").append(workers.get(s).exitValue());
+            } else if (e instanceof SocketTimeoutException) {
+                message.append("; worker ").append(s).append(" still running");
+            }
+        }
+        return message.toString();
+    }
+
+    private void deleteWorkFiles(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+            // Leftover files in the work directory are harmless
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.scc;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import java.util.*;
+
+/**
+ * Implements Tarjan's single-pass algorithm for strongly connected components.
+ * Unlike {@link KosarajuSCC} it needs no transposed graph.
+ * The DFS is iterative, using primitive stacks and arc cursors.
+ * Time complexity: O(V + E)
+ * Space complexity: O(V)
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class TarjanSCC implements SCCFinder {
+    private static final int UNVISITED = -1;
+
+    private final Graph graph;
+    private final int[] index;
+    private final int[] lowLink;
+    private final boolean[] onStack;
+    private final int[] sccStack;
+    private int sccTop;
+    private int nextIndex;
+    private final List<List<Integer>> components;
+    private final Metrics metrics;
+
+    // Explicit DFS stack: node and next arc to scan at each depth
+    private final int[] nodeStack;
+    private final long[] edgeCursor;
+
+    /**
+     * Constructs an SCC finder for the given graph.
+     *
+     * @param graph the graph to analyze
+     */
+    public TarjanSCC(Graph graph) {
+        int n = graph.getN();
+        this.graph = graph;
+        this.index = new int[n];
+        this.lowLink = new int[n];
+        this.onStack = new boolean[n];
+        this.sccStack = new int[n];
+        this.components = new ArrayList<>();
+        this.metrics = new Metrics();
+        this.nodeStack = new int[n];
+        this.edgeCursor = new long[n];
+        Arrays.fill(index, UNVISITED);
+    }
+
+    /**
+     * Finds all strongly connected components using Tarjan's algorithm.
+     * Components are returned in topological order of the condensation,
+     * matching {@link KosarajuSCC}.
+     *
+     * @return SCCResult containing components and performance metrics
+     */
+    @Override
+    public KosarajuSCC.SCCResult findSCCs() {
+        metrics.startTimer();
+
+        for (int i = 0; i < graph.getN(); i++) {
+            if (index[i] == UNVISITED) {
+                strongConnect(i);
+            }
+        }
+
+        // Tarjan completes sink components first
+        Collections.reverse(components);
+
+        metrics.stopTimer();
+        return new KosarajuSCC.SCCResult(components, metrics);
+    }
+
+    /**
+     * Runs one DFS tree, emitting every component whose root it finishes.
+     *
+     * @param start the DFS root
+     */
+    private void strongConnect(int start) {
+        int top = 0;
+        discover(start);
+        nodeStack[0] = start;
+        edgeCursor[0] = graph.edgeStart(start);
+
+        while (top >= 0) {
+            int u = nodeStack[top];
+            long e = edgeCursor[top];
+
+            if (e < graph.edgeEnd(u)) {
+                edgeCursor[top] = e + 1;
+                metrics.incrementDfsEdges();
+                int v = graph.edgeTarget(e);
+                if (index[v] == UNVISITED) {
+                    discover(v);
+                    top++;
+                    nodeStack[top] = v;
+                    edgeCursor[top] = graph.edgeStart(v);
+                } else if (onStack[v] && index[v] < lowLink[u]) {
+                    lowLink[u] = index[v];
+                }
+                continue;
+            }
+
+            if (lowLink[u] == index[u]) {
+                popComponent(u);
+            }
+            top--;
+            if (top >= 0) {
+                int parent = nodeStack[top];
+                if (lowLink[u] < lowLink[parent]) {
+                    lowLink[parent] = lowLink[u];
+                }
+            }
+        }
+    }
+
+    private void discover(int node) {
+        metrics.incrementDfsVisits();
+        index[node] = lowLink[node] = nextIndex++;
+        sccStack[sccTop++] = node;
+        onStack[node] = true;
+    }
+
+    /**
+     * Pops the component rooted at {@code root}, keeping discovery order.
+     */
+    private void popComponent(int root) {
+        int from = sccTop - 1;
+        while (sccStack[from] != root) {
+            from--;
+        }
+
+        List<Integer> component = new ArrayList<>(sccTop - from);
+        for (int i = from; i < sccTop; i++) {
+            int node = sccStack[i];
+            onStack[node] = false;
+            component.add(node);
+        }
+        sccTop = from;
+        components.add(component);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.topo;
+
+import java.util.Arrays;
+
+/**
+ * Deduplicates component-to-component edges without per-edge allocation.
+ * Each pair is packed into one {@code long} key and stored in an
+ * open-addressing table with linear probing; distinct edges are kept in
+ * insertion order in parallel int arrays.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+final class ComponentEdgeTable {
+    private static final long EMPTY = -1L;
+
+    private final EdgeCombinePolicy policy;
+    private long[] keys;
+    private int[] slots;
+    private int mask;
+
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private int size;
+
+    /**
+     * @param policy how to combine the weights of parallel edges
+     * @param expectedEdges sizing hint for the number of distinct edges
+     */
+    ComponentEdgeTable(EdgeCombinePolicy policy, int expectedEdges) {
+        this.policy = policy;
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEdges) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+
+        int edges = Math.max(16, expectedEdges);
+        this.from = new int[edges];
+        this.to = new int[edges];
+        this.weight = new int[edges];
+    }
+
+    /**
+     * Records an edge between two distinct components.
+     *
+     * @param compU the source component (non-negative)
+     * @param compV the target component (non-negative)
+     * @param w the edge weight
+     */
+    void add(int compU, int compV, int w) {
+        long key = ((long) compU << 32) | compV;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                int slot = slots[i];
+                weight[slot] = policy.combine(weight[slot], w);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        slots[i] = size;
+        if (size == from.length) {
+            int capacity = size * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[size] = compU;
+        to[size] = compV;
+        weight[size] = w;
+        size++;
+
+        if (size * 2 > keys.length) {
+            rehash();
+        }
+    }
+
+    int size() { return size; }
+
+    int from(int i) { return from[i]; }
+
+    int to(int i) { return to[i]; }
+
+    int weight(int i) { return weight[i]; }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[keys.length];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = mix(oldKeys[j]) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                slots[i] = oldSlots[j];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
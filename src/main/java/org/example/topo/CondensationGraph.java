@@ -17,18 +17,32 @@ public class CondensationGraph {
     private Graph condensationGraph;
     private final int[] nodeToComponent;
     private final List<List<Integer>> components;
+    private final EdgeCombinePolicy combinePolicy;
 
     /**
-     * Constructs a condensation graph from SCC results.
+     * Constructs a condensation graph from SCC results, keeping the first
+     * weight seen for parallel inter-component edges.
      *
      * @param graph the original graph
      * @param sccResult the SCC analysis results
      */
     public CondensationGraph(Graph graph, KosarajuSCC.SCCResult sccResult) {
+        this(graph, sccResult, EdgeCombinePolicy.FIRST);
+    }
+
+    /**
+     * Constructs a condensation graph from SCC results.
+     *
+     * @param graph the original graph
+     * @param sccResult the SCC analysis results
+     * @param combinePolicy how to weight parallel inter-component edges
+     */
+    public CondensationGraph(Graph graph, KosarajuSCC.SCCResult sccResult, EdgeCombinePolicy combinePolicy) {
         this.originalGraph = graph;
         this.sccResult = sccResult;
         this.nodeToComponent = new int[graph.getN()];
         this.components = sccResult.components;
+        this.combinePolicy = combinePolicy;
         buildComponentMapping();
         buildCondensationGraph();
     }
@@ -48,31 +62,48 @@ public class CondensationGraph {
 
     /**
      * Builds the condensation graph by connecting components.
+     * Node durations, if any, are summed per component.
      */
     private void buildCondensationGraph() {
         int numComponents = components.size();
         condensationGraph = new Graph(numComponents, true, originalGraph.getWeightModel());
 
-        Set<String> addedEdges = new HashSet<>();
+        if (originalGraph.hasNodeDurations()) {
+            int[] durations = originalGraph.getNodeDurations();
+            int[] componentDurations = new int[numComponents];
+            for (int u = 0; u < durations.length; u++) {
+                componentDurations[nodeToComponent[u]] += durations[u];
+            }
+            for (int c = 0; c < numComponents; c++) {
+                condensationGraph.setNodeDuration(c, componentDurations[c]);
+            }
+        }
+
+        ComponentEdgeTable addedEdges = new ComponentEdgeTable(combinePolicy, numComponents);
 
-        // Create edges between different components
+        // Collect distinct edges between different components
         for (int u = 0; u < originalGraph.getN(); u++) {
             int compU = nodeToComponent[u];
 
-            for (Graph.Edge edge : originalGraph.getEdges(u)) {
-                int v = edge.v;
-                int compV = nodeToComponent[v];
-
-                // Add edge only if components are different
+            for (long e = originalGraph.edgeStart(u), end = originalGraph.edgeEnd(u); e < end; e++) {
+                int compV = nodeToComponent[originalGraph.edgeTarget(e)];
                 if (compU != compV) {
-                    String edgeKey = compU + "->" + compV;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensationGraph.addEdge(compU, compV, edge.weight);
-                        addedEdges.add(edgeKey);
-                    }
+                    addedEdges.add(compU, compV, originalGraph.edgeWeight(e));
                 }
             }
         }
+
+        // Edges keep the order in which each pair was first seen
+        for (int i = 0; i < addedEdges.size(); i++) {
+            condensationGraph.addEdge(addedEdges.from(i), addedEdges.to(i), addedEdges.weight(i));
+        }
+    }
+
+    /**
+     * @return the policy used for parallel inter-component edges
+     */
+    public EdgeCombinePolicy getCombinePolicy() {
+        return combinePolicy;
     }
 
     /**
@@ -107,7 +138,7 @@ public class CondensationGraph {
 
         int edges = 0;
         for (int i = 0; i < condensationGraph.getN(); i++) {
-            edges += condensationGraph.getEdges(i).size();
+            edges += condensationGraph.outDegree(i);
         }
         System.out.println("Condensation edges: " + edges);
 
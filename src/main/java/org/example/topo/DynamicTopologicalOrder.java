@@ -0,0 +1,244 @@
+package org.example.topo;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import org.example.util.IntList;
+import java.util.*;
+
+/**
+ * Keeps a topological order of a DAG valid under edge insertions
+ * (Pearce and Kelly, "A dynamic topological sort algorithm for directed
+ * acyclic graphs", 2006).
+ * <p>
+ * Inserting u &rarr; v when u is already ordered before v changes nothing.
+ * Otherwise only the positions between v and u are affected. The
+ * algorithm searches forward from v and backward from u, staying inside
+ * that window. The nodes it finds are then redistributed over their own
+ * former positions, with everything that reaches u placed before
+ * everything reachable from v. If the forward search reaches u, the edge
+ * would close a cycle. It is rejected, and the cycle is reported through
+ * {@link #getLastCycle()}.
+ * <p>
+ * The cost of one insertion is proportional to the nodes and arcs inside
+ * the affected window, not to the size of the graph.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class DynamicTopologicalOrder {
+    private final int n;
+    private final IntList[] out;
+    private final IntList[] in;
+
+    // position[v] is v's index in the order; nodeAt is its inverse
+    private final int[] position;
+    private final int[] nodeAt;
+
+    // Scratch state for searches, reset via stamps
+    private final int[] visited;
+    private int currentStamp;
+    private final int[] parent;
+    private final int[] stack;
+    private final IntList forward = new IntList();
+    private final IntList backward = new IntList();
+
+    private List<Integer> lastCycle = List.of();
+    private final Metrics metrics;
+
+    /**
+     * Starts from a DAG, ordered with {@link KahnTopologicalSort}.
+     *
+     * @param dag the initial graph; later changes to it are not tracked
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DynamicTopologicalOrder(Graph dag) {
+        this.n = dag.getN();
+        this.out = new IntList[n];
+        this.in = new IntList[n];
+        for (int v = 0; v < n; v++) {
+            out[v] = new IntList();
+            in[v] = new IntList();
+        }
+        for (int u = 0; u < n; u++) {
+            for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++) {
+                int v = dag.edgeTarget(e);
+                out[u].add(v);
+                in[v].add(u);
+            }
+        }
+
+        this.nodeAt = new int[n];
+        if (KahnTopologicalSort.sortInto(dag, nodeAt) != n) {
+            throw new IllegalArgumentException("Graph contains cycles - no valid topological order");
+        }
+        this.position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[nodeAt[i]] = i;
+        }
+
+        this.visited = new int[n];
+        this.parent = new int[n];
+        this.stack = new int[n];
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * Inserts the edge u &rarr; v unless it would close a cycle.
+     *
+     * @param u the source node
+     * @param v the target node
+     * @return true if the edge was inserted; false if it would create a cycle,
+     *         in which case the graph is unchanged and {@link #getLastCycle()} holds the cycle
+     */
+    public boolean addEdge(int u, int v) {
+        Objects.checkIndex(u, n);
+        Objects.checkIndex(v, n);
+        lastCycle = List.of();
+
+        int lower = position[v];
+        int upper = position[u];
+        if (lower > upper) {
+            link(u, v);
+            return true;
+        }
+        if (u == v) {
+            lastCycle = List.of(u);
+            return false;
+        }
+
+        currentStamp++;
+        forward.clear();
+        backward.clear();
+        if (!searchForward(v, u, upper)) {
+            List<Integer> cycle = new ArrayList<>();
+            for (int w = u; w != v; w = parent[w]) {
+                cycle.add(w);
+            }
+            cycle.add(v);
+            Collections.reverse(cycle);
+            lastCycle = Collections.unmodifiableList(cycle);
+            return false;
+        }
+        searchBackward(u, lower);
+        reorder();
+        link(u, v);
+        return true;
+    }
+
+    /**
+     * Visits everything reachable from {@code start} up to position {@code upper}.
+     *
+     * @return false if {@code target} was reached
+     */
+    private boolean searchForward(int start, int target, int upper) {
+        int size = 0;
+        visited[start] = currentStamp;
+        stack[size++] = start;
+        while (size > 0) {
+            int w = stack[--size];
+            forward.add(w);
+            metrics.incrementDfsVisits();
+            IntList next = out[w];
+            for (int i = 0; i < next.size(); i++) {
+                metrics.incrementDfsEdges();
+                int x = next.get(i);
+                if (x == target) {
+                    parent[x] = w;
+                    return false;
+                }
+                if (visited[x] != currentStamp && position[x] < upper) {
+                    visited[x] = currentStamp;
+                    parent[x] = w;
+                    stack[size++] = x;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits everything that reaches {@code start} down to position {@code lower}.
+     */
+    private void searchBackward(int start, int lower) {
+        int size = 0;
+        visited[start] = currentStamp;
+        stack[size++] = start;
+        while (size > 0) {
+            int w = stack[--size];
+            backward.add(w);
+            metrics.incrementDfsVisits();
+            IntList prev = in[w];
+            for (int i = 0; i < prev.size(); i++) {
+                metrics.incrementDfsEdges();
+                int x = prev.get(i);
+                if (visited[x] != currentStamp && position[x] > lower) {
+                    visited[x] = currentStamp;
+                    stack[size++] = x;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the backward set, then the forward set, each in its current
+     * relative order, the union of their old positions in ascending order.
+     */
+    private void reorder() {
+        sortByPosition(backward);
+        sortByPosition(forward);
+        int total = backward.size() + forward.size();
+        int[] slots = new int[total];
+        for (int i = 0; i < backward.size(); i++) {
+            slots[i] = position[backward.get(i)];
+        }
+        for (int i = 0; i < forward.size(); i++) {
+            slots[backward.size() + i] = position[forward.get(i)];
+        }
+        Arrays.sort(slots);
+
+        for (int i = 0; i < total; i++) {
+            int w = i < backward.size() ? backward.get(i) : forward.get(i - backward.size());
+            position[w] = slots[i];
+            nodeAt[slots[i]] = w;
+        }
+    }
+
+    private void sortByPosition(IntList nodes) {
+        // Pack position and node into one long so a primitive sort orders by position
+        long[] keys = new long[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            keys[i] = ((long) position[nodes.get(i)] << 32) | nodes.get(i);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < nodes.size(); i++) {
+            nodes.set(i, (int) keys[i]);
+        }
+    }
+
+    private void link(int u, int v) {
+        out[u].add(v);
+        in[v].add(u);
+    }
+
+    /**
+     * @return the nodes of the cycle found by the last rejected insertion, from
+     *         its target to its source; empty if the last insertion succeeded
+     */
+    public List<Integer> getLastCycle() { return lastCycle; }
+
+    /**
+     * @param node a node
+     * @return the node's index in the current order
+     */
+    public int position(int node) { return position[node]; }
+
+    /**
+     * @return a copy of the current order
+     */
+    public int[] order() { return nodeAt.clone(); }
+
+    /**
+     * @return search counters accumulated over all insertions
+     */
+    public Metrics getMetrics() { return metrics; }
+}
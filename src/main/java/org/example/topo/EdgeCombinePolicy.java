@@ -0,0 +1,36 @@
+package org.example.topo;
+
+/**
+ * Decides the weight of a condensation edge when several original edges
+ * connect the same pair of components.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public enum EdgeCombinePolicy {
+    /** Keep the weight of the first edge encountered. */
+    FIRST,
+    /** Keep the smallest weight; suits shortest-path queries. */
+    MIN,
+    /** Keep the largest weight; suits critical-path queries. */
+    MAX;
+
+    /**
+     * Combines the weight kept so far with another parallel edge's weight.
+     *
+     * @param kept the weight kept so far
+     * @param candidate the weight of another parallel edge
+     * @return the weight to keep
+     */
+    public int combine(int kept, int candidate) {
+        switch (this) {
+            case MIN:
+                return Math.min(kept, candidate);
+            case MAX:
+                return Math.max(kept, candidate);
+            case FIRST:
+            default:
+                return kept;
+        }
+    }
+}
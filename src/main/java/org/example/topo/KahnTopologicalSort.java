@@ -12,6 +12,8 @@ import java.util.*;
  * @version 1.0
  */
 public class KahnTopologicalSort {
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
     private final Graph graph;
     private final Metrics metrics;
 
@@ -34,49 +36,99 @@ public class KahnTopologicalSort {
         metrics.startTimer();
 
         int n = graph.getN();
-        int[] inDegree = new int[n];
+        int[] order = new int[n];
+        int count = sortInto(graph, order);
+
+        // Every dequeued node was enqueued exactly once
+        metrics.addKahnPushes(count);
+        metrics.addKahnPops(count);
+        metrics.stopTimer();
+
+        List<Integer> topoOrder = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            topoOrder.add(order[i]);
+        }
+
+        // Check if graph is a DAG (all nodes processed)
+        boolean isDAG = count == n;
+
+        return new TopoResult(topoOrder, isDAG, metrics);
+    }
+
+    /**
+     * Sorts a graph into a caller-supplied array using the calling thread's
+     * workspace. Once the workspace has grown to the graph size, the call
+     * allocates nothing.
+     *
+     * @param graph the graph to sort
+     * @param order receives the order; must hold at least {@code graph.getN()} nodes
+     * @return number of nodes written, equal to {@code graph.getN()} iff the graph is a DAG
+     */
+    public static int sortInto(Graph graph, int[] order) {
+        return sortInto(graph, order, WORKSPACE.get());
+    }
+
+    /**
+     * Sorts a graph into a caller-supplied array using the given workspace.
+     *
+     * @param graph the graph to sort
+     * @param order receives the order; must hold at least {@code graph.getN()} nodes
+     * @param workspace scratch space, not shared between concurrent calls
+     * @return number of nodes written, equal to {@code graph.getN()} iff the graph is a DAG
+     */
+    public static int sortInto(Graph graph, int[] order, Workspace workspace) {
+        int n = graph.getN();
+        if (order.length < n) {
+            throw new IllegalArgumentException("Order array holds " + order.length + " nodes, graph has " + n);
+        }
+        int[] inDegree = workspace.inDegree(n);
 
         // Calculate in-degrees for all nodes
         for (int u = 0; u < n; u++) {
-            for (Graph.Edge edge : graph.getEdges(u)) {
-                inDegree[edge.v]++;
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                inDegree[graph.edgeTarget(e)]++;
             }
         }
 
-        // Initialize queue with nodes having zero in-degree
-        Queue<Integer> queue = new LinkedList<>();
+        // The output doubles as the FIFO queue: every node is enqueued at most
+        // once, so order[head..tail) holds the pending nodes and nothing wraps
+        int tail = 0;
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                metrics.incrementKahnPushes();
-                queue.offer(i);
+                order[tail++] = i;
             }
         }
 
-        List<Integer> topoOrder = new ArrayList<>();
-
         // Process nodes in topological order
-        while (!queue.isEmpty()) {
-            metrics.incrementKahnPops();
-            int u = queue.poll();
-            topoOrder.add(u);
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
 
             // Decrement in-degree of neighbors
-            for (Graph.Edge edge : graph.getEdges(u)) {
-                int v = edge.v;
-                inDegree[v]--;
-                if (inDegree[v] == 0) {
-                    metrics.incrementKahnPushes();
-                    queue.offer(v);
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                int v = graph.edgeTarget(e);
+                if (--inDegree[v] == 0) {
+                    order[tail++] = v;
                 }
             }
         }
+        return tail;
+    }
 
-        metrics.stopTimer();
-
-        // Check if graph is a DAG (all nodes processed)
-        boolean isDAG = topoOrder.size() == n;
+    /**
+     * Reusable scratch space for {@link #sortInto}. Grows to the largest graph
+     * it has seen; keep one per thread.
+     */
+    public static final class Workspace {
+        private int[] inDegree = new int[0];
 
-        return new TopoResult(topoOrder, isDAG, metrics);
+        int[] inDegree(int n) {
+            if (inDegree.length < n) {
+                inDegree = new int[Math.max(n, inDegree.length * 2)];
+            } else {
+                Arrays.fill(inDegree, 0, n, 0);
+            }
+            return inDegree;
+        }
     }
 
     /**
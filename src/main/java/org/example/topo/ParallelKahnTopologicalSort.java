@@ -0,0 +1,194 @@
+package org.example.topo;
+
+import org.example.model.Graph;
+import org.example.metrics.Metrics;
+import org.example.util.IntArrays;
+import org.example.util.IntList;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous (wavefront) variant of Kahn's algorithm.
+ * <p>
+ * All nodes of in-degree zero form level 0. Each frontier is expanded in
+ * parallel with fork/join: workers decrement in-degrees atomically and the
+ * worker that brings a node to zero adds it to the next level. The order is
+ * emitted level by level, nodes ascending within a level, so it is
+ * deterministic and a valid topological order.
+ * <p>
+ * The level of a node is the number of arcs on the longest path reaching
+ * it, so nodes sharing a level can run concurrently and the level sizes
+ * are the graph's parallelism profile.
+ * Time complexity: O(V + E) work, O(depth) synchronization rounds.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class ParallelKahnTopologicalSort {
+    private static final int FRONTIER_GRAIN = 512;
+
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+
+    /**
+     * Constructs a parallel topological sorter running on the common pool.
+     *
+     * @param graph the graph to sort (must be a DAG)
+     */
+    public ParallelKahnTopologicalSort(Graph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a parallel topological sorter running on the given pool.
+     *
+     * @param graph the graph to sort (must be a DAG)
+     * @param pool the pool to run tasks on
+     */
+    public ParallelKahnTopologicalSort(Graph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * Performs the level-synchronous topological sort.
+     *
+     * @return LevelResult containing the order, per-node levels and validation
+     */
+    public LevelResult topologicalSort() {
+        metrics.startTimer();
+
+        int n = graph.getN();
+        graph.freeze();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        for (int u = 0; u < n; u++) {
+            for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                inDegree.incrementAndGet(graph.edgeTarget(e));
+            }
+        }
+
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        int[] order = new int[n];
+        List<Integer> levelSizes = new ArrayList<>();
+        int processed = 0;
+
+        int[] frontier = new int[n];
+        int size = 0;
+        for (int u = 0; u < n; u++) {
+            if (inDegree.get(u) == 0) {
+                frontier[size++] = u;
+            }
+        }
+        frontier = Arrays.copyOf(frontier, size);
+
+        while (frontier.length > 0) {
+            int depth = levelSizes.size();
+            Arrays.sort(frontier);
+            for (int u : frontier) {
+                level[u] = depth;
+                order[processed++] = u;
+            }
+            levelSizes.add(frontier.length);
+            metrics.addKahnPushes(frontier.length);
+            metrics.addKahnPops(frontier.length);
+            frontier = pool.invoke(new FrontierTask(frontier, 0, frontier.length, inDegree));
+        }
+
+        metrics.stopTimer();
+
+        List<Integer> topoOrder = new ArrayList<>(processed);
+        for (int i = 0; i < processed; i++) {
+            topoOrder.add(order[i]);
+        }
+        int[] sizes = new int[levelSizes.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = levelSizes.get(i);
+        }
+        return new LevelResult(topoOrder, processed == n, metrics, level, sizes);
+    }
+
+    /**
+     * Expands a slice of a frontier, splitting large slices across workers,
+     * and returns the nodes whose in-degree dropped to zero.
+     */
+    private final class FrontierTask extends RecursiveTask<int[]> {
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final AtomicIntegerArray inDegree;
+
+        FrontierTask(int[] frontier, int from, int to, AtomicIntegerArray inDegree) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.inDegree = inDegree;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from > FRONTIER_GRAIN) {
+                int mid = (from + to) >>> 1;
+                FrontierTask left = new FrontierTask(frontier, from, mid, inDegree);
+                left.fork();
+                int[] right = new FrontierTask(frontier, mid, to, inDegree).compute();
+                return IntArrays.concat(left.join(), right);
+            }
+
+            IntList next = new IntList(16);
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    int v = graph.edgeTarget(e);
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        next.add(v);
+                    }
+                }
+            }
+            return next.toArray();
+        }
+    }
+
+    /**
+     * Topological sort result that also carries each node's level.
+     */
+    public static class LevelResult extends KahnTopologicalSort.TopoResult {
+        public final int[] level;
+        public final int[] levelSizes;
+
+        /**
+         * Constructs a level-synchronous sort result.
+         *
+         * @param order the topological order, level by level
+         * @param isDAG whether the graph is acyclic
+         * @param metrics performance metrics
+         * @param level level of each node, -1 for nodes on or behind a cycle
+         * @param levelSizes number of nodes in each level
+         */
+        public LevelResult(List<Integer> order, boolean isDAG, Metrics metrics, int[] level, int[] levelSizes) {
+            super(order, isDAG, metrics);
+            this.level = level;
+            this.levelSizes = levelSizes;
+        }
+
+        /**
+         * @return number of levels, i.e. the length of the longest path in nodes
+         */
+        public int getDepth() { return levelSizes.length; }
+
+        /**
+         * Prints the order and the parallelism profile.
+         */
+        @Override
+        public void printResults() {
+            super.printResults();
+            if (isDAG) {
+                System.out.println("Levels: " + levelSizes.length + ", sizes: " + Arrays.toString(levelSizes));
+            }
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package org.example.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.Main;
+import org.example.cache.AnalysisCache;
+import org.example.cache.AnalysisResult;
+import org.example.cache.GraphHash;
+import org.example.dagsp.DAGShortestLongestPaths;
+import org.example.dagsp.PreparedDAGPaths;
+import org.example.model.Graph;
+import org.example.scc.KosarajuSCC;
+import org.example.scc.SCCEngine;
+import org.example.topo.CondensationGraph;
+import org.example.topo.KahnTopologicalSort;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Analyzes many datasets concurrently and collects one structured report
+ * per dataset.
+ * <p>
+ * Every dataset moves through the stages parse, SCC, condensation,
+ * topological sort and paths, as one task on a bounded pool, so different
+ * datasets occupy different stages at the same time. A stage that throws,
+ * or a dataset that exceeds the timeout, only marks that dataset as
+ * failed, and the others continue. The timeout counts from the moment a
+ * dataset starts running. A timed-out dataset is interrupted, and its
+ * stages stop at the next stage boundary. Until it returns, a replacement
+ * thread keeps the pool at full strength, so even a stage that never
+ * returns cannot stall the remaining datasets.
+ * <p>
+ * With an {@link AnalysisCache}, graphs whose content hash was seen before
+ * are answered from the cache right after parsing.
+ * <p>
+ * Reports come back in input order and can be written as JSON or CSV.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class BatchPipeline {
+    private static final String USAGE = "Usage: BatchPipeline [--threads N] [--timeout-ms T]"
+            + " [--out summary.json|summary.csv] [--cache DIR] [--cache-max-mb M] [files...]";
+
+    private static final long DEFAULT_CACHE_MB = 256;
+
+    private final int threads;
+    private final SCCEngine engine;
+    private final long timeoutMillis;
+    private final AnalysisCache cache;
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param threads the number of worker threads
+     * @param engine the SCC engine to use
+     * @param timeoutMillis per-dataset time limit in milliseconds, 0 for none
+     */
+    public BatchPipeline(int threads, SCCEngine engine, long timeoutMillis) {
+        this(threads, engine, timeoutMillis, null);
+    }
+
+    /**
+     * Constructs a pipeline that answers unchanged graphs from a result cache.
+     * A hit skips the SCC, condensation, sort and path stages; shortest-path
+     * and DFS counters are then reported as 0.
+     *
+     * @param threads the number of worker threads
+     * @param engine the SCC engine to use
+     * @param timeoutMillis per-dataset time limit in milliseconds, 0 for none
+     * @param cache the result cache, or null for none
+     */
+    public BatchPipeline(int threads, SCCEngine engine, long timeoutMillis, AnalysisCache cache) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.engine = engine;
+        this.timeoutMillis = timeoutMillis;
+        this.cache = cache;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeoutMillis = 0;
+        Path out = Path.of("batch-summary.json");
+        Path cacheDir = null;
+        long cacheMegabytes = DEFAULT_CACHE_MB;
+        List<Path> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    inputs.add(Path.of(arg));
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--timeout-ms": timeoutMillis = Long.parseLong(value); break;
+                    case "--out": out = Path.of(value); break;
+                    case "--cache": cacheDir = Path.of(value); break;
+                    case "--cache-max-mb": cacheMegabytes = Long.parseLong(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        if (inputs.isEmpty()) {
+            File[] files = new File("data").listFiles((dir, name) -> name.endsWith(".json"));
+            if (files == null || files.length == 0) {
+                System.out.println("No JSON files found in data/ directory");
+                return;
+            }
+            Arrays.sort(files);
+            for (File file : files) {
+                inputs.add(file.toPath());
+            }
+        }
+
+        SCCEngine engine = SCCEngine.fromName(System.getProperty("scc.engine", "kosaraju"));
+        long start = System.nanoTime();
+        AnalysisCache cache = cacheDir == null ? null : new AnalysisCache(cacheDir, cacheMegabytes << 20);
+        List<DatasetReport> reports = new BatchPipeline(threads, engine, timeoutMillis, cache).run(inputs);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        write(reports, out);
+        long failed = reports.stream().filter(r -> !r.status.equals(DatasetReport.OK)).count();
+        System.out.println("Analyzed " + reports.size() + " datasets (" + failed + " failed) in "
+                + elapsedMillis + " ms -> " + out);
+        if (cache != null) {
+            System.out.println("Cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, "
+                    + cache.getSizeBytes() + " bytes in " + cacheDir);
+        }
+        for (DatasetReport report : reports) {
+            if (!report.status.equals(DatasetReport.OK)) {
+                System.err.println("  " + report.file + ": " + report.status + " - " + report.error);
+            }
+        }
+    }
+
+    /**
+     * Analyzes all inputs and waits for every one to finish or fail.
+     *
+     * @param inputs JSON or binary graph files
+     * @return one report per input, in input order
+     */
+    public List<DatasetReport> run(List<Path> inputs) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("batch-"));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("batch-timer-"));
+        try {
+            List<CompletableFuture<DatasetReport>> results = new ArrayList<>();
+            for (Path input : inputs) {
+                results.add(analyze(input, executor, timer));
+            }
+            List<DatasetReport> reports = new ArrayList<>();
+            for (CompletableFuture<DatasetReport> result : results) {
+                reports.add(result.join());
+            }
+            return reports;
+        } finally {
+            timer.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs all stages of one dataset as a single task. The clock starts when
+     * the task starts, not while it waits in the queue. On timeout the task
+     * is cancelled, which interrupts its thread, and the pool grows by one
+     * thread until the task returns. A stage that ignores the interrupt
+     * therefore cannot take a worker away from the remaining datasets.
+     */
+    private CompletableFuture<DatasetReport> analyze(Path input, ThreadPoolExecutor executor,
+                                                     ScheduledExecutorService timer) {
+        DatasetReport report = new DatasetReport(input.toString());
+        CompletableFuture<DatasetReport> result = new CompletableFuture<>();
+        CompletableFuture<Future<?>> submitted = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+
+        submitted.complete(executor.submit(() -> {
+            ScheduledFuture<?> deadline = null;
+            if (timeoutMillis > 0) {
+                deadline = timer.schedule(() -> {
+                    // Fresh copy so the abandoned stages cannot change what is reported
+                    synchronized (timedOut) {
+                        if (result.complete(report.failed(DatasetReport.TIMEOUT,
+                                "TimeoutException: no result within " + timeoutMillis + " ms"))) {
+                            resize(executor, 1);
+                            timedOut.set(true);
+                        }
+                    }
+                    if (timedOut.get()) {
+                        submitted.join().cancel(true);
+                    }
+                }, timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            try {
+                Work work = new Work(report);
+                parse(work, input);
+                checkInterrupted();
+                findSCCs(work);
+                checkInterrupted();
+                condense(work);
+                checkInterrupted();
+                sort(work);
+                checkInterrupted();
+                paths(work);
+                result.complete(report);
+            } catch (Throwable failure) {
+                Throwable cause = failure;
+                while (cause instanceof CompletionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                result.complete(report.failed(DatasetReport.FAILED,
+                        (cause.getClass().getSimpleName() + ": " + cause.getMessage()).replaceAll("\\s*\\R\\s*", " ")));
+            } finally {
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+                synchronized (timedOut) {
+                    if (timedOut.get()) {
+                        // The timeout added a thread in this task's place; give it back
+                        resize(executor, -1);
+                    }
+                }
+            }
+        }));
+        return result;
+    }
+
+    private static synchronized void resize(ThreadPoolExecutor executor, int delta) {
+        // Raise the maximum before the core size, lower it after, so core never exceeds maximum
+        if (delta > 0) {
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+        } else {
+            executor.setCorePoolSize(executor.getCorePoolSize() + delta);
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Interrupted after timeout");
+        }
+    }
+
+    private Work parse(Work work, Path input) {
+        long start = System.nanoTime();
+        try {
+            work.graph = Main.loadGraph(input.toString());
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        work.graph.freeze();
+        work.report.nodes = work.graph.getN();
+        work.report.arcs = work.graph.getArcCount();
+        work.report.parseNanos = System.nanoTime() - start;
+
+        if (cache != null) {
+            work.cacheKey = AnalysisCache.key(GraphHash.of(work.graph), engine.name());
+            work.cached = cache.get(work.cacheKey).orElse(null);
+            work.report.cached = work.cached != null;
+        }
+        return work;
+    }
+
+    private Work findSCCs(Work work) {
+        if (work.cached != null) {
+            return work;
+        }
+        long start = System.nanoTime();
+        work.sccs = engine.create(work.graph).findSCCs();
+        DatasetReport report = work.report;
+        report.sccs = work.sccs.components.size();
+        report.largestScc = work.sccs.components.stream().mapToInt(List::size).max().orElse(0);
+        report.dfsVisits = work.sccs.metrics.getDfsVisits();
+        report.dfsEdges = work.sccs.metrics.getDfsEdges();
+        report.sccNanos = System.nanoTime() - start;
+        return work;
+    }
+
+    private static Work condense(Work work) {
+        if (work.cached != null) {
+            return work;
+        }
+        long start = System.nanoTime();
+        work.condensation = new CondensationGraph(work.graph, work.sccs);
+        Graph dag = work.condensation.getCondensationGraph();
+        dag.freeze();
+        work.report.condensationNodes = dag.getN();
+        work.report.condensationEdges = dag.getArcCount();
+        work.report.condensationNanos = System.nanoTime() - start;
+        return work;
+    }
+
+    private static Work sort(Work work) {
+        if (work.cached != null) {
+            return work;
+        }
+        long start = System.nanoTime();
+        work.topo = new KahnTopologicalSort(work.condensation.getCondensationGraph()).topologicalSort();
+        work.report.dag = work.topo.isDAG;
+        work.report.kahnPops = work.topo.metrics.getKahnPops();
+        work.report.topoNanos = System.nanoTime() - start;
+        return work;
+    }
+
+    private Work paths(Work work) {
+        if (work.cached != null) {
+            fromCache(work);
+            return work;
+        }
+        long start = System.nanoTime();
+        Graph dag = work.condensation.getCondensationGraph();
+        DatasetReport report = work.report;
+        PreparedDAGPaths pathFinder = new PreparedDAGPaths(dag, work.topo);
+        DAGShortestLongestPaths.CriticalPathResult critical = pathFinder.findCriticalPath();
+        if (dag.getN() > 0 && work.topo.isDAG) {
+            int component = sourceComponent(work.graph, work.condensation::getComponent);
+            DAGShortestLongestPaths.ShortestPathResult shortest = pathFinder.shortestPath(component);
+            int reachable = 0;
+            for (int d : shortest.dist) {
+                if (d != Integer.MAX_VALUE) {
+                    reachable++;
+                }
+            }
+
+            report.sourceComponent = component;
+            report.reachableFromSource = reachable;
+            report.criticalPathLength = critical.length;
+            report.criticalPathNodes = critical.path.size();
+            report.relaxations = shortest.metrics.getRelaxations();
+        }
+        report.pathNanos = System.nanoTime() - start;
+
+        if (cache != null) {
+            try {
+                cache.put(work.cacheKey, AnalysisResult.of(work.sccs, work.condensation, work.topo, critical));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        report.status = DatasetReport.OK;
+        return work;
+    }
+
+    private static void fromCache(Work work) {
+        AnalysisResult cached = work.cached;
+        DatasetReport report = work.report;
+        report.sccs = cached.getComponentCount();
+        report.largestScc = cached.getLargestComponentSize();
+        report.condensationNodes = cached.getComponentCount();
+        report.condensationEdges = cached.getCondensationEdgeCount();
+        report.dag = cached.isDAG();
+        if (report.condensationNodes > 0 && cached.isDAG()) {
+            DAGShortestLongestPaths.CriticalPathResult critical = cached.toCriticalPathResult();
+            report.sourceComponent = sourceComponent(work.graph, cached::getComponent);
+            report.reachableFromSource = cached.countReachable(report.sourceComponent);
+            report.criticalPathLength = critical.length;
+            report.criticalPathNodes = critical.path.size();
+        }
+        report.status = DatasetReport.OK;
+    }
+
+    private static int sourceComponent(Graph graph, IntUnaryOperator componentOf) {
+        int source = graph.getSource();
+        return source >= 0 && source < graph.getN() ? componentOf.applyAsInt(source) : 0;
+    }
+
+    /**
+     * Writes reports as CSV if the file name ends in {@code .csv}, JSON otherwise.
+     *
+     * @param reports the reports to write
+     * @param out the destination file
+     * @throws IOException if writing fails
+     */
+    public static void write(List<DatasetReport> reports, Path out) throws IOException {
+        if (out.toString().endsWith(".csv")) {
+            writeCsv(reports, out);
+        } else {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), reports);
+        }
+    }
+
+    private static void writeCsv(List<DatasetReport> reports, Path out) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            writer.println(String.join(",", DatasetReport.COLUMNS));
+            for (DatasetReport report : reports) {
+                writer.println(report.toCsvRow());
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Intermediate results handed from one stage to the next.
+     */
+    private static final class Work {
+        final DatasetReport report;
+        Graph graph;
+        String cacheKey;
+        AnalysisResult cached;
+        KosarajuSCC.SCCResult sccs;
+        CondensationGraph condensation;
+        KahnTopologicalSort.TopoResult topo;
+
+        Work(DatasetReport report) {
+            this.report = report;
+        }
+    }
+
+    /**
+     * Results and timings for one dataset. Fields not reached before a
+     * failure keep their defaults; stage times are in nanoseconds.
+     */
+    public static final class DatasetReport {
+        public static final String OK = "OK";
+        public static final String FAILED = "FAILED";
+        public static final String TIMEOUT = "TIMEOUT";
+
+        static final String[] COLUMNS = {
+                "file", "status", "error", "cached", "nodes", "arcs", "sccs", "largestScc",
+                "condensationNodes", "condensationEdges", "dag", "sourceComponent", "reachableFromSource",
+                "criticalPathLength", "criticalPathNodes", "parseNanos", "sccNanos", "condensationNanos",
+                "topoNanos", "pathNanos", "dfsVisits", "dfsEdges", "kahnPops", "relaxations"
+        };
+
+        public final String file;
+        public String status = FAILED;
+        public String error;
+        public boolean cached;
+        public int nodes;
+        public long arcs;
+        public int sccs;
+        public int largestScc;
+        public int condensationNodes;
+        public long condensationEdges;
+        public boolean dag;
+        public int sourceComponent = -1;
+        public int reachableFromSource;
+        public int criticalPathLength;
+        public int criticalPathNodes;
+        public long parseNanos;
+        public long sccNanos;
+        public long condensationNanos;
+        public long topoNanos;
+        public long pathNanos;
+        public long dfsVisits;
+        public long dfsEdges;
+        public long kahnPops;
+        public long relaxations;
+
+        DatasetReport(String file) {
+            this.file = file;
+        }
+
+        private DatasetReport failed(String status, String error) {
+            DatasetReport copy = new DatasetReport(file);
+            copy.nodes = nodes;
+            copy.arcs = arcs;
+            copy.status = status;
+            copy.error = error;
+            return copy;
+        }
+
+        String toCsvRow() {
+            Object[] values = {
+                    file, status, error, cached, nodes, arcs, sccs, largestScc,
+                    condensationNodes, condensationEdges, dag, sourceComponent, reachableFromSource,
+                    criticalPathLength, criticalPathNodes, parseNanos, sccNanos, condensationNanos,
+                    topoNanos, pathNanos, dfsVisits, dfsEdges, kahnPops, relaxations
+            };
+            StringJoiner row = new StringJoiner(",");
+            for (Object value : values) {
+                row.add(csv(value));
+            }
+            return row.toString();
+        }
+
+        private static String csv(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+}
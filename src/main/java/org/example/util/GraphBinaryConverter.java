@@ -0,0 +1,38 @@
+package org.example.util;
+
+import org.example.model.Graph;
+import org.example.model.GraphBinaryFormat;
+import org.example.model.GraphJsonParser;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class GraphBinaryConverter {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            for (String path : args) {
+                convert(path);
+            }
+            return;
+        }
+
+        File dataDir = new File("data");
+        File[] files = dataDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null || files.length == 0) {
+            System.out.println("No JSON files found in data/ directory");
+            return;
+        }
+        for (File file : files) {
+            convert("data/" + file.getName());
+        }
+    }
+
+    public static Path convert(String jsonPath) throws IOException {
+        Graph graph = GraphJsonParser.parse(jsonPath);
+        Path target = Path.of(jsonPath.replaceAll("\\.json$", "") + ".bin");
+        GraphBinaryFormat.write(graph, target);
+        System.out.println("✓ Converted: " + jsonPath + " -> " + target +
+                " (" + graph.getN() + " nodes, " + graph.getEdgeCount() + " edges)");
+        return target;
+    }
+}
@@ -1,108 +1,504 @@
 package org.example.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.example.model.GraphBinaryFormat;
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+/**
+ * Seeded, streaming generator of directed graphs with planted SCCs.
+ * <p>
+ * Nodes are shuffled and split into {@code depth} layers. SCCs are
+ * planted as simple cycles inside single layers. Every other arc points
+ * from a layer to a strictly later one. The planted cycles are therefore
+ * exactly the non-trivial SCCs, and the condensation has at most
+ * {@code depth} levels.
+ * <p>
+ * Arcs are produced in chunks of consecutive source nodes. Each chunk
+ * has its own random stream and a primitive duplicate filter, so chunks
+ * are generated in parallel and written in order. The output depends
+ * only on the seed and the parameters, never on the thread count.
+ * Chunks are streamed to JSON or to the binary format as they complete;
+ * the full graph is never held in memory.
+ * <p>
+ * Without arguments, regenerates the bundled datasets in {@code data/}.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
 public class GraphGenerator {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static final Random random = new Random();
+    private static final int CHUNK_NODES = 1 << 16;
+    private static final int MAX_WEIGHT = 10;
+
+    private static final String USAGE = "Usage: GraphGenerator --out <file.json|file.bin> --nodes N --edges M"
+            + " [--seed S] [--sccs K] [--scc-min A] [--scc-max B] [--depth D] [--threads T] [--pretty]";
 
     public static void main(String[] args) throws IOException {
-        generateAllDatasets();
+        if (args.length == 0) {
+            generateAllDatasets();
+            return;
+        }
+
+        Spec spec;
+        Path out;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            spec = new Spec();
+            out = null;
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--pretty")) {
+                    spec.pretty = true;
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--out": out = Path.of(value); break;
+                    case "--nodes": spec.nodes = Integer.parseInt(value); break;
+                    case "--edges": spec.edges = Long.parseLong(value); break;
+                    case "--seed": spec.seed = Long.parseLong(value); break;
+                    case "--sccs": spec.sccs = Integer.parseInt(value); break;
+                    case "--scc-min": spec.sccMin = Integer.parseInt(value); break;
+                    case "--scc-max": spec.sccMax = Integer.parseInt(value); break;
+                    case "--depth": spec.depth = Integer.parseInt(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (out == null) {
+                throw new IllegalArgumentException("--out is required");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Summary summary = generate(spec, out, pool);
+            System.out.println("✓ Generated: " + out + " (" + summary);
+        } finally {
+            pool.shutdown();
+        }
     }
 
     public static void generateAllDatasets() throws IOException {
         System.out.println("Starting dataset generation...");
 
-        generateDataset("small_1", 8, 12, 1, 2);
-        generateDataset("small_2", 6, 8, 0, 0);
-        generateDataset("small_3", 10, 15, 2, 3);
+        generateDataset("small_1", 8, 12, 1, 2, 1);
+        generateDataset("small_2", 6, 8, 0, 0, 2);
+        generateDataset("small_3", 10, 15, 2, 3, 3);
 
-        generateDataset("medium_1", 15, 25, 3, 5);
-        generateDataset("medium_2", 12, 18, 1, 2);
-        generateDataset("medium_3", 20, 35, 4, 6);
+        generateDataset("medium_1", 15, 25, 3, 5, 4);
+        generateDataset("medium_2", 12, 18, 1, 2, 5);
+        generateDataset("medium_3", 20, 35, 4, 6, 6);
 
-        generateDataset("large_1", 30, 60, 5, 8);
-        generateDataset("large_2", 25, 40, 2, 4);
-        generateDataset("large_3", 50, 100, 8, 12);
+        generateDataset("large_1", 30, 60, 5, 8, 7);
+        generateDataset("large_2", 25, 40, 2, 4, 8);
+        generateDataset("large_3", 50, 100, 8, 12, 9);
 
         System.out.println("All datasets generated successfully!");
     }
 
-    private static void generateDataset(String name, int nodes, int edges, int minCycles, int maxCycles) throws IOException {
+    private static void generateDataset(String name, int nodes, int edges, int minCycles, int maxCycles, long seed)
+            throws IOException {
         File dataDir = new File("data");
         if (!dataDir.exists()) {
             boolean created = dataDir.mkdirs();
             System.out.println("Created data directory: " + created);
         }
 
-        ObjectNode root = mapper.createObjectNode();
-        root.put("directed", true);
-        root.put("n", nodes);
-        root.put("weight_model", "edge");
+        Spec spec = new Spec();
+        spec.nodes = nodes;
+        spec.edges = edges;
+        spec.seed = seed;
+        spec.sccs = minCycles + new SplittableRandom(seed).nextInt(maxCycles - minCycles + 1);
+        spec.depth = Math.max(2, nodes / 10);
+        spec.sccMin = 3;
+        spec.sccMax = Math.min(6, nodes / spec.depth);
+        spec.pretty = true;
+
+        String filename = "data/" + name + ".json";
+        Summary summary = generate(spec, Path.of(filename), ForkJoinPool.commonPool());
+        System.out.println("✓ Generated: " + filename + " (" + summary);
+    }
+
+    /**
+     * Generates a graph and streams it to a file. A {@code .bin} extension
+     * selects {@link GraphBinaryFormat}; anything else is written as JSON.
+     *
+     * @param spec the generation parameters
+     * @param out the destination file
+     * @param pool the pool generating chunks
+     * @return what was actually generated
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the parameters cannot be satisfied
+     */
+    public static Summary generate(Spec spec, Path out, ForkJoinPool pool) throws IOException {
+        Layout layout = new Layout(spec);
+        try (ArcSink sink = out.toString().endsWith(".bin")
+                ? new BinarySink(out, spec.nodes, spec.edges)
+                : new JsonSink(out, spec.nodes, spec.pretty)) {
+            int chunks = layout.chunkCount();
+            // Generate up to one chunk per worker ahead, so memory stays bounded
+            int wave = Math.max(1, pool.getParallelism());
+            for (int first = 0; first < chunks; first += wave) {
+                List<Callable<Chunk>> jobs = new ArrayList<>();
+                for (int k = first; k < Math.min(chunks, first + wave); k++) {
+                    int chunk = k;
+                    jobs.add(() -> layout.generateChunk(chunk));
+                }
+                for (Future<Chunk> future : pool.invokeAll(jobs)) {
+                    future.get().writeTo(sink);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        return new Summary(spec.nodes, spec.edges, layout.plantedSccs);
+    }
+
+    /**
+     * Generation parameters; every field has a usable default except
+     * {@code nodes} and {@code edges}.
+     */
+    public static final class Spec {
+        /** Number of nodes. */
+        public int nodes;
+        /** Exact number of arcs, including the arcs of planted cycles. */
+        public long edges;
+        /** Random seed; equal seeds give byte-identical files. */
+        public long seed = 1;
+        /** Number of SCCs to plant as cycles; fewer are planted if layers are too small. */
+        public int sccs;
+        /** Smallest planted SCC, at least 2. */
+        public int sccMin = 3;
+        /** Largest planted SCC. */
+        public int sccMax = 6;
+        /** Number of layers, bounding the number of levels of the condensation. */
+        public int depth = 16;
+        /** Pretty-print JSON output. */
+        public boolean pretty;
+    }
+
+    /**
+     * What a generation run produced.
+     */
+    public static final class Summary {
+        public final int nodes;
+        public final long edges;
+        public final int sccs;
+
+        Summary(int nodes, long edges, int sccs) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.sccs = sccs;
+        }
+
+        @Override
+        public String toString() {
+            return nodes + " nodes, " + edges + " edges, " + sccs + " cycles)";
+        }
+    }
 
-        var edgesArray = mapper.createArrayNode();
-        Set<String> edgeSet = new HashSet<>();
+    /**
+     * Node shuffle, layers, planted cycles and the arc quota of every chunk.
+     */
+    private static final class Layout {
+        private final int n;
+        private final int[] layerOf;
+        private final int[] layerStart;
+        private final int[] cycleNext;
+        private final long[] chunkQuota;
+        private final long[] chunkSeed;
+        private final int[] perm;
+        private int plantedSccs;
 
-        int numCycles = random.nextInt(maxCycles - minCycles + 1) + minCycles;
-        createCycles(edgesArray, edgeSet, nodes, numCycles);
+        Layout(Spec spec) {
+            n = spec.nodes;
+            if (n < 1 || spec.edges < 0 || spec.sccs < 0 || spec.sccMin < 2 || spec.sccMax < spec.sccMin) {
+                throw new IllegalArgumentException("Invalid generator parameters");
+            }
+            int depth = Math.max(1, Math.min(spec.depth, n));
+            SplittableRandom random = new SplittableRandom(spec.seed);
 
-        while (edgeSet.size() < edges) {
-            int u = random.nextInt(nodes);
-            int v = random.nextInt(nodes);
+            perm = new int[n];
+            for (int i = 0; i < n; i++) {
+                perm[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = perm[i];
+                perm[i] = perm[j];
+                perm[j] = t;
+            }
 
-            if (u != v) {
-                String edgeKey = u + "->" + v;
-                if (!edgeSet.contains(edgeKey)) {
-                    int weight = random.nextInt(10) + 1;
-                    var edgeNode = mapper.createObjectNode();
-                    edgeNode.put("u", u);
-                    edgeNode.put("v", v);
-                    edgeNode.put("w", weight);
-                    edgesArray.add(edgeNode);
-                    edgeSet.add(edgeKey);
+            layerStart = new int[depth + 1];
+            for (int l = 0; l <= depth; l++) {
+                layerStart[l] = (int) ((long) l * n / depth);
+            }
+            layerOf = new int[n];
+            for (int l = 0; l < depth; l++) {
+                for (int p = layerStart[l]; p < layerStart[l + 1]; p++) {
+                    layerOf[perm[p]] = l;
                 }
             }
+
+            // Cycles go round-robin over layers, into the next layer with room left
+            cycleNext = new int[n];
+            Arrays.fill(cycleNext, -1);
+            int[] cursor = Arrays.copyOf(layerStart, depth);
+            long cycleArcs = 0;
+            for (int k = 0; k < spec.sccs; k++) {
+                int size = spec.sccMin + random.nextInt(spec.sccMax - spec.sccMin + 1);
+                int l = k % depth;
+                for (int tries = 0; tries < depth && cursor[l] + size > layerStart[l + 1]; tries++) {
+                    l = (l + 1) % depth;
+                }
+                if (cursor[l] + size > layerStart[l + 1]) {
+                    continue;
+                }
+                for (int i = 0; i < size; i++) {
+                    cycleNext[perm[cursor[l] + i]] = perm[cursor[l] + (i + 1) % size];
+                }
+                cursor[l] += size;
+                cycleArcs += size;
+                plantedSccs++;
+            }
+
+            long forward = spec.edges - cycleArcs;
+            if (forward < 0) {
+                throw new IllegalArgumentException("Edge count " + spec.edges
+                        + " is below the " + cycleArcs + " arcs of the planted cycles");
+            }
+
+            // Quotas are proportional to each chunk's number of possible forward arcs
+            int chunks = (n + CHUNK_NODES - 1) / CHUNK_NODES;
+            long[] capacity = new long[chunks];
+            long total = 0;
+            for (int u = 0; u < n; u++) {
+                long c = n - layerStart[layerOf[u] + 1];
+                capacity[u / CHUNK_NODES] += c;
+                total += c;
+            }
+            if (forward > total) {
+                throw new IllegalArgumentException("Edge count " + spec.edges + " exceeds the "
+                        + (total + cycleArcs) + " distinct arcs possible with depth " + depth);
+            }
+            chunkQuota = new long[chunks];
+            chunkSeed = new long[chunks];
+            BigInteger f = BigInteger.valueOf(forward);
+            BigInteger t = BigInteger.valueOf(Math.max(1, total));
+            long prefix = 0;
+            long assigned = 0;
+            for (int k = 0; k < chunks; k++) {
+                prefix += capacity[k];
+                long upTo = f.multiply(BigInteger.valueOf(prefix)).divide(t).longValue();
+                chunkQuota[k] = upTo - assigned;
+                assigned = upTo;
+                chunkSeed[k] = random.nextLong();
+            }
         }
 
-        root.set("edges", edgesArray);
-        root.put("source", 0);
+        int chunkCount() {
+            return chunkQuota.length;
+        }
 
-        String filename = "data/" + name + ".json";
-        File outputFile = new File(filename);
-        mapper.writerWithDefaultPrettyPrinter().writeValue(outputFile, root);
+        Chunk generateChunk(int k) {
+            int from = k * CHUNK_NODES;
+            int to = (int) Math.min(n, (long) from + CHUNK_NODES);
+            SplittableRandom random = new SplittableRandom(chunkSeed[k]);
 
-        System.out.println("✓ Generated: " + filename + " (" + nodes + " nodes, " + edges + " edges, " + numCycles + " cycles)");
-    }
+            int[] eligible = new int[to - from];
+            int eligibleCount = 0;
+            long cycleArcs = 0;
+            for (int u = from; u < to; u++) {
+                if (layerStart[layerOf[u] + 1] < n) {
+                    eligible[eligibleCount++] = u;
+                }
+                if (cycleNext[u] >= 0) {
+                    cycleArcs++;
+                }
+            }
 
-    private static void createCycles(com.fasterxml.jackson.databind.node.ArrayNode edgesArray,
-                                     Set<String> edgeSet, int nodes, int numCycles) {
-        for (int i = 0; i < numCycles && i < nodes / 3; i++) {
-            int cycleSize = random.nextInt(4) + 3;
-            List<Integer> cycleNodes = new ArrayList<>();
+            int size = Math.toIntExact(cycleArcs + chunkQuota[k]);
+            int[] us = new int[size];
+            int[] vs = new int[size];
+            int[] ws = new int[size];
+            int count = 0;
+            for (int u = from; u < to; u++) {
+                if (cycleNext[u] >= 0) {
+                    us[count] = u;
+                    vs[count] = cycleNext[u];
+                    ws[count++] = 1 + random.nextInt(MAX_WEIGHT);
+                }
+            }
 
-            while (cycleNodes.size() < cycleSize) {
-                int node = random.nextInt(nodes);
-                if (!cycleNodes.contains(node)) {
-                    cycleNodes.add(node);
+            // Forward arcs cross layers, so they never collide with cycle arcs
+            LongHashSet seen = new LongHashSet(chunkQuota[k]);
+            while (count < size) {
+                int u = eligible[random.nextInt(eligibleCount)];
+                int lo = layerStart[layerOf[u] + 1];
+                int v = perm[lo + random.nextInt(n - lo)];
+                if (seen.add(((long) u << 32) | v)) {
+                    us[count] = u;
+                    vs[count] = v;
+                    ws[count++] = 1 + random.nextInt(MAX_WEIGHT);
                 }
             }
+            return new Chunk(from, to, us, vs, ws);
+        }
+    }
+
+    /**
+     * Arcs of one chunk, grouped by source node on output.
+     */
+    private static final class Chunk {
+        private final int from;
+        private final int to;
+        private final int[] us;
+        private final int[] vs;
+        private final int[] ws;
 
-            for (int j = 0; j < cycleSize; j++) {
-                int u = cycleNodes.get(j);
-                int v = cycleNodes.get((j + 1) % cycleSize);
-                int weight = random.nextInt(10) + 1;
+        Chunk(int from, int to, int[] us, int[] vs, int[] ws) {
+            this.from = from;
+            this.to = to;
+            this.us = us;
+            this.vs = vs;
+            this.ws = ws;
+        }
 
-                var edgeNode = mapper.createObjectNode();
-                edgeNode.put("u", u);
-                edgeNode.put("v", v);
-                edgeNode.put("w", weight);
-                edgesArray.add(edgeNode);
-                edgeSet.add(u + "->" + v);
+        void writeTo(ArcSink sink) throws IOException {
+            // Stable counting sort by source
+            int[] start = new int[to - from + 1];
+            for (int u : us) {
+                start[u - from + 1]++;
+            }
+            for (int i = 0; i < to - from; i++) {
+                start[i + 1] += start[i];
+            }
+            int[] sorted = new int[us.length];
+            for (int i = 0; i < us.length; i++) {
+                sorted[start[us[i] - from]++] = i;
             }
+            for (int i : sorted) {
+                sink.arc(us[i], vs[i], ws[i]);
+            }
+        }
+    }
+
+    private interface ArcSink extends AutoCloseable {
+        void arc(int u, int v, int w) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class JsonSink implements ArcSink {
+        private final JsonGenerator json;
+
+        JsonSink(Path out, int n, boolean pretty) throws IOException {
+            json = new JsonFactory().createGenerator(out.toFile(), JsonEncoding.UTF8);
+            if (pretty) {
+                json.useDefaultPrettyPrinter();
+            }
+            json.writeStartObject();
+            json.writeBooleanField("directed", true);
+            json.writeNumberField("n", n);
+            json.writeStringField("weight_model", "edge");
+            json.writeNumberField("source", 0);
+            json.writeArrayFieldStart("edges");
+        }
+
+        @Override
+        public void arc(int u, int v, int w) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("u", u);
+            json.writeNumberField("v", v);
+            json.writeNumberField("w", w);
+            json.writeEndObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.close();
+        }
+    }
+
+    private static final class BinarySink implements ArcSink {
+        private final GraphBinaryFormat.ArcWriter writer;
+
+        BinarySink(Path out, int n, long arcs) throws IOException {
+            writer = GraphBinaryFormat.openArcWriter(out, n, arcs, true, "edge", 0);
+        }
+
+        @Override
+        public void arc(int u, int v, int w) throws IOException {
+            writer.addArc(u, v, w);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Open-addressing set of non-negative packed arc keys.
+     */
+    private static final class LongHashSet {
+        private static final long EMPTY = -1;
+
+        private final long[] keys;
+        private final int mask;
+
+        LongHashSet(long expected) {
+            if (expected > 1 << 29) {
+                throw new IllegalArgumentException("Too many arcs per chunk: " + expected);
+            }
+            int capacity = Integer.highestOneBit((int) Math.max(4, expected * 2) - 1) << 1;
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            mask = capacity - 1;
+        }
+
+        boolean add(long key) {
+            int slot = (int) (mix(key) & mask);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            return true;
+        }
+
+        private static long mix(long key) {
+            key *= 0x9E3779B97F4A7C15L;
+            return key ^ (key >>> 32);
         }
     }
-}
\ No newline at end of file
+}
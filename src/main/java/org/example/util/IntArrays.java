@@ -0,0 +1,34 @@
+package org.example.util;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for primitive int arrays shared by the parallel algorithms.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class IntArrays {
+    private IntArrays() {
+    }
+
+    /**
+     * Joins two arrays. If either one is empty the other is returned
+     * as is, so callers must not modify the result in place.
+     *
+     * @param a the leading values
+     * @param b the trailing values
+     * @return {@code a} followed by {@code b}
+     */
+    public static int[] concat(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal growable list of primitive ints, for adjacency lists, work
+ * stacks and per-task buffers where boxed lists would dominate memory.
+ * Not thread-safe.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class IntList {
+    private int[] data;
+    private int size;
+
+    /**
+     * Constructs an empty list with room for four values.
+     */
+    public IntList() {
+        this(4);
+    }
+
+    /**
+     * @param capacity initial capacity, at least 1
+     */
+    public IntList(int capacity) {
+        this.data = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i the index, below {@link #size()}
+     * @return the value at {@code i}
+     */
+    public int get(int i) {
+        return data[i];
+    }
+
+    /**
+     * @param i the index, below {@link #size()}
+     * @param value the new value
+     */
+    public void set(int i, int value) {
+        data[i] = value;
+    }
+
+    /**
+     * @param value the value to append
+     */
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * @param other the list whose values to append
+     */
+    public void addAll(IntList other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.data[i]);
+        }
+    }
+
+    /**
+     * Removes and returns the last value.
+     *
+     * @return the removed value
+     */
+    public int removeLast() {
+        return data[--size];
+    }
+
+    /**
+     * Removes the value at {@code i}, shifting later values down so the
+     * remaining ones keep their order.
+     *
+     * @param i the index, below {@link #size()}
+     */
+    public void removeAt(int i) {
+        System.arraycopy(data, i + 1, data, i, size - i - 1);
+        size--;
+    }
+
+    /**
+     * Removes all values, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @param value the value to find
+     * @return index of the first occurrence, or -1
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds an entry equal to {@code value} whose twin in {@code paired} equals {@code pairedValue}.
+     *
+     * @param value the value to find
+     * @param paired a list at least as long as this one
+     * @param pairedValue the value required at the same index of {@code paired}
+     * @return index of the first match, or -1
+     */
+    public int indexOf(int value, IntList paired, int pairedValue) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value && paired.data[i] == pairedValue) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the values in a new array of exactly {@link #size()} elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * @return the values as a new boxed list
+     */
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(data[i]);
+        }
+        return list;
+    }
+}
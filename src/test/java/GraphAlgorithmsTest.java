@@ -1,12 +1,41 @@
 package org.example;
 
+import org.example.cache.AnalysisCache;
+import org.example.cache.AnalysisResult;
+import org.example.cache.GraphHash;
+import org.example.metrics.Metrics;
 import org.example.model.Graph;
+import org.example.model.GraphBinaryFormat;
 import org.example.model.GraphJsonParser;
+import org.example.model.OffHeapGraph;
+import org.example.scc.DynamicSCC;
 import org.example.scc.KosarajuSCC;
+import org.example.scc.ParallelSCC;
+import org.example.scc.SCCEngine;
+import org.example.scc.ShardedSCC;
+import org.example.scc.TarjanSCC;
 import org.example.topo.CondensationGraph;
+import org.example.topo.DynamicTopologicalOrder;
+import org.example.topo.EdgeCombinePolicy;
 import org.example.topo.KahnTopologicalSort;
+import org.example.topo.ParallelKahnTopologicalSort;
+import org.example.topo.ReachabilityIndex;
 import org.example.dagsp.DAGShortestLongestPaths;
+import org.example.dagsp.PreparedDAGPaths;
+import org.example.dagsp.ScheduleAnalysis;
+import org.example.util.BatchPipeline;
+import org.example.util.GraphGenerator;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GraphAlgorithmsTest {
@@ -59,4 +88,985 @@ public class GraphAlgorithmsTest {
 
         assertTrue(result.isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCsrIterationMatchesEdgeView() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(2, 3, 7);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(2, 0, 4);
+
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(2, graph.outDegree(0));
+        assertEquals(0, graph.outDegree(3));
+
+        for (int u = 0; u < graph.getN(); u++) {
+            var edges = graph.getEdges(u);
+            int i = 0;
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++, i++) {
+                assertEquals(edges.get(i).v, graph.edgeTarget(e));
+                assertEquals(edges.get(i).weight, graph.edgeWeight(e));
+            }
+            assertEquals(edges.size(), i);
+        }
+        assertEquals("[0->1(5), 0->2(1)]", graph.getEdges(0).toString());
+
+        // Adding after the graph was frozen keeps earlier edges
+        graph.addEdge(3, 1, 2);
+        assertEquals("[3->1(2)]", graph.getEdges(3).toString());
+        assertEquals("[2->3(7), 2->0(4)]", graph.getEdges(2).toString());
+    }
+
+    @Test
+    public void testStreamingParserAcceptsAnyKeyOrder() throws Exception {
+        String json = "{\"edges\": [{\"w\": 3, \"u\": 0, \"v\": 1}, {\"u\": 1, \"v\": 2, \"w\": 4}],"
+                + " \"node_durations\": {\"0\": 5, \"2\": 7}, \"source\": 1,"
+                + " \"extra\": {\"ignored\": [1, 2]}, \"weight_model\": \"node\", \"n\": 3, \"directed\": true}";
+        Graph graph = GraphJsonParser.parse(new ByteArrayInputStream(
+                json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, graph.getN());
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals("node", graph.getWeightModel());
+        assertEquals(1, graph.getSource());
+        assertEquals(7, graph.getNodeDuration(2));
+        assertEquals("[0->1(3)]", graph.getEdges(0).toString());
+
+        // Header keys are optional; a late non-default one rebuilds the graph
+        Graph defaults = GraphJsonParser.parse(new ByteArrayInputStream(
+                "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2}]}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(defaults.isDirected());
+        assertEquals("edge", defaults.getWeightModel());
+        assertEquals("[]", defaults.getEdges(1).toString());
+        Graph undirected = GraphJsonParser.parse(new ByteArrayInputStream(
+                "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2}], \"directed\": false}"
+                        .getBytes(StandardCharsets.UTF_8)));
+        assertFalse(undirected.isDirected());
+        assertEquals("[1->0(2)]", undirected.getEdges(1).toString());
+        assertEquals("[0->1(2)]", undirected.getEdges(0).toString());
+    }
+
+    @Test
+    public void testBinaryRoundTripMatchesJson() throws Exception {
+        Graph graph = GraphJsonParser.parse("data/large_3.json");
+        Path file = Files.createTempFile("graph", ".bin");
+        try {
+            GraphBinaryFormat.write(graph, file);
+            Graph mapped = GraphBinaryFormat.load(file);
+
+            assertEquals(graph.getN(), mapped.getN());
+            assertEquals(graph.getEdgeCount(), mapped.getEdgeCount());
+            assertEquals(graph.getWeightModel(), mapped.getWeightModel());
+            assertEquals(graph.getSource(), mapped.getSource());
+            for (int u = 0; u < graph.getN(); u++) {
+                assertEquals(graph.getEdges(u).toString(), mapped.getEdges(u).toString());
+            }
+            assertEquals(new KosarajuSCC(graph).findSCCs().components,
+                    new KosarajuSCC(mapped).findSCCs().components);
+
+            // The transpose of a mapped graph stays off the heap
+            Graph reversed = mapped.reversed();
+            assertTrue(reversed instanceof OffHeapGraph);
+            assertEquals(graph.getArcCount(), reversed.getArcCount());
+            for (int u = 0; u < graph.getN(); u++) {
+                for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                    boolean found = false;
+                    int v = graph.edgeTarget(e);
+                    for (long r = reversed.edgeStart(v), rEnd = reversed.edgeEnd(v); r < rEnd; r++) {
+                        found |= reversed.edgeTarget(r) == u && reversed.edgeWeight(r) == graph.edgeWeight(e);
+                    }
+                    assertTrue(found);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testOffHeapGraphMatchesHeapGraph() throws Exception {
+        Graph graph = GraphJsonParser.parse("data/medium_3.json");
+        Graph offHeap = OffHeapGraph.copyOf(graph);
+
+        assertEquals(graph.getArcCount(), offHeap.getArcCount());
+        assertEquals(new KosarajuSCC(graph).findSCCs().components,
+                new KosarajuSCC(offHeap).findSCCs().components);
+
+        CondensationGraph condensation = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs());
+        Graph dag = OffHeapGraph.copyOf(condensation.getCondensationGraph());
+        assertEquals(new KahnTopologicalSort(condensation.getCondensationGraph()).topologicalSort().order,
+                new KahnTopologicalSort(dag).topologicalSort().order);
+    }
+
+    @Test
+    public void testNodeWeightedPathsOnCondensation() {
+        Graph graph = new Graph(4, true, "node");
+        graph.addEdge(0, 1, 100);
+        graph.addEdge(1, 0, 100);
+        graph.addEdge(1, 2, 100);
+        graph.addEdge(2, 3, 100);
+        graph.addEdge(0, 3, 100);
+        graph.setNodeDuration(0, 2);
+        graph.setNodeDuration(1, 3);
+        graph.setNodeDuration(2, 4);
+        graph.setNodeDuration(3, 1);
+
+        CondensationGraph condensation = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs());
+        Graph dag = condensation.getCondensationGraph();
+        int cycle = condensation.getComponent(0);
+        assertEquals(condensation.getComponent(1), cycle);
+        assertEquals(5, dag.nodeDuration(cycle));
+
+        DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths(dag);
+        assertTrue(pathFinder.isNodeWeighted());
+        int last = condensation.getComponent(3);
+        assertEquals(6, pathFinder.shortestPath(cycle).dist[last]);
+        assertEquals(10, pathFinder.longestPath(cycle).dist[last]);
+        assertEquals(10, pathFinder.findCriticalPath().length);
+    }
+
+    @Test
+    public void testSCCOnLongChainDoesNotOverflowStack() {
+        int n = 200_000;
+        Graph graph = new Graph(n, true, "edge");
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1, 1);
+        }
+        graph.addEdge(n - 1, n / 2, 1);
+
+        KosarajuSCC.SCCResult result = new KosarajuSCC(graph).findSCCs();
+
+        assertEquals(n / 2 + 1, result.components.size());
+        assertEquals(n - n / 2, result.components.get(n / 2).size());
+    }
+
+    @Test
+    public void testTarjanMatchesKosarajuPartition() throws Exception {
+        for (String name : new String[] {"small_1", "small_3", "medium_3", "large_3"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            KosarajuSCC.SCCResult kosaraju = new KosarajuSCC(graph).findSCCs();
+            KosarajuSCC.SCCResult tarjan = new TarjanSCC(graph).findSCCs();
+
+            assertEquals(asPartition(kosaraju), asPartition(tarjan), name);
+            assertEquals(graph.getN(), tarjan.metrics.getDfsVisits());
+            assertEquals(graph.getEdgeCount(), tarjan.metrics.getDfsEdges());
+
+            // Components come out in topological order of the condensation
+            CondensationGraph condensation = new CondensationGraph(graph, tarjan);
+            Graph dag = condensation.getCondensationGraph();
+            for (int c = 0; c < dag.getN(); c++) {
+                for (long e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+                    assertTrue(dag.edgeTarget(e) > c);
+                }
+            }
+        }
+    }
+
+    private static Set<Set<Integer>> asPartition(KosarajuSCC.SCCResult result) {
+        Set<Set<Integer>> partition = new HashSet<>();
+        for (List<Integer> component : result.components) {
+            partition.add(new HashSet<>(component));
+        }
+        return partition;
+    }
+
+    @Test
+    public void testParallelSCCMatchesKosarajuPartition() throws Exception {
+        for (String name : new String[] {"small_1", "small_2", "medium_1", "large_1", "large_3"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()),
+                    asPartition(new ParallelSCC(graph).findSCCs()), name);
+        }
+
+        // One giant cycle plus tails and a DAG fringe, large enough to split frontiers
+        int n = 20_000;
+        Graph graph = new Graph(n, true, "edge");
+        Random random = new Random(7);
+        for (int i = 0; i < n / 2; i++) {
+            graph.addEdge(i, (i + 1) % (n / 2), 1);
+        }
+        for (int i = 0; i < 3 * n; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < n / 2 || u < v) {
+                graph.addEdge(u, v, 1);
+            }
+        }
+        assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()),
+                asPartition(new ParallelSCC(graph, new ForkJoinPool(4)).findSCCs()));
+    }
+
+    @Test
+    public void testParallelSCCOnLongChainOfComponents() {
+        // 2000 two-node components in a chain: each round peels one off the front
+        int k = 2000;
+        Graph graph = new Graph(2 * k, true, "edge");
+        for (int i = 0; i < k; i++) {
+            graph.addEdge(2 * i, 2 * i + 1, 1);
+            graph.addEdge(2 * i + 1, 2 * i, 1);
+            if (i + 1 < k) {
+                graph.addEdge(2 * i + 1, 2 * i + 2, 1);
+            }
+        }
+        KosarajuSCC.SCCResult result = new ParallelSCC(graph).findSCCs();
+        assertEquals(k, result.components.size());
+        assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()), asPartition(result));
+    }
+
+    @Test
+    public void testShardedSCCMatchesKosarajuPartition() throws Exception {
+        for (String name : new String[] {"small_1", "medium_3", "large_1"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()),
+                    asPartition(new ShardedSCC(graph, 3).findSCCs()), name);
+        }
+
+        // Nested cycles that survive trimming and need several forward-backward rounds
+        int n = 3_000;
+        Graph graph = new Graph(n, true, "edge");
+        Random random = new Random(25);
+        for (int i = 0; i < n; i++) {
+            graph.addEdge(i, (i + 1) % 1000 + (i / 1000) * 1000, 1);
+            int v = random.nextInt(n);
+            if (v / 1000 >= i / 1000 || random.nextInt(50) == 0) {
+                graph.addEdge(i, v, 1);
+            }
+        }
+        Path workDir = Files.createTempDirectory("sharded-scc-test");
+        Path own = Files.writeString(workDir.resolve("shard-0.bin"), "not ours to delete");
+        ShardedSCC finder = new ShardedSCC(graph, 4, workDir);
+        KosarajuSCC.SCCResult sharded = finder.findSCCs();
+        assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()), asPartition(sharded));
+        // Workers exchanged messages between shards
+        assertTrue(sharded.metrics.getDfsEdges() > 0);
+        // A second run counts its own rounds only
+        int rounds = finder.getRounds();
+        finder.findSCCs();
+        assertEquals(rounds, finder.getRounds());
+        // Only the caller's file is left behind
+        try (Stream<Path> left = Files.list(workDir)) {
+            assertEquals(List.of(own), left.collect(Collectors.toList()));
+        }
+        Files.delete(own);
+        Files.delete(workDir);
+    }
+
+    @Test
+    public void testShardedSCCOnChainsOfComponentsIsFast() {
+        // 2000 two-node components chained forward, then the same numbered backward
+        int k = 2000;
+        for (boolean forward : new boolean[] {true, false}) {
+            Graph graph = new Graph(2 * k, true, "edge");
+            for (int i = 0; i < k; i++) {
+                graph.addEdge(2 * i, 2 * i + 1, 1);
+                graph.addEdge(2 * i + 1, 2 * i, 1);
+                if (i + 1 < k) {
+                    if (forward) {
+                        graph.addEdge(2 * i + 1, 2 * i + 2, 1);
+                    } else {
+                        graph.addEdge(2 * i + 2, 2 * i + 1, 1);
+                    }
+                }
+            }
+            ShardedSCC finder = new ShardedSCC(graph, 2);
+            // Not preemptive: an abandoned run would leave its worker processes behind
+            KosarajuSCC.SCCResult result = assertTimeout(Duration.ofSeconds(30), finder::findSCCs);
+            assertEquals(k, result.components.size());
+            assertEquals(asPartition(new KosarajuSCC(graph).findSCCs()), asPartition(result));
+            // Many components finish per round, not one
+            assertTrue(finder.getRounds() < 100, "rounds: " + finder.getRounds());
+        }
+    }
+
+    @Test
+    public void testDynamicSCCTracksInsertionsAndDeletions() throws Exception {
+        Graph base = GraphJsonParser.parse("data/medium_2.json");
+        int n = base.getN();
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : base.getEdges(u)) {
+                edges.add(new int[] {edge.u, edge.v, edge.weight});
+            }
+        }
+
+        DynamicSCC dynamic = new DynamicSCC(base);
+        Random random = new Random(42);
+        for (int step = 0; step < 300; step++) {
+            if (random.nextBoolean() && !edges.isEmpty()) {
+                int[] edge = edges.remove(random.nextInt(edges.size()));
+                assertTrue(dynamic.removeEdge(edge[0], edge[1]));
+            } else {
+                int[] edge = {random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9)};
+                edges.add(edge);
+                dynamic.addEdge(edge[0], edge[1], edge[2]);
+            }
+
+            Graph current = new Graph(n, true, "edge");
+            for (int[] edge : edges) {
+                current.addEdge(edge[0], edge[1], edge[2]);
+            }
+            KosarajuSCC.SCCResult expected = new KosarajuSCC(current).findSCCs();
+            KosarajuSCC.SCCResult actual = dynamic.toSCCResult();
+            assertEquals(asPartition(expected), asPartition(actual), "step " + step);
+            assertEquals(expected.components.size(), dynamic.getComponentCount());
+
+            Graph dag = dynamic.toCondensationGraph();
+            Graph rebuilt = new CondensationGraph(current, actual).getCondensationGraph();
+            assertEquals(rebuilt.getEdgeCount(), dag.getEdgeCount(), "step " + step);
+            assertTrue(new KahnTopologicalSort(dag).topologicalSort().isDAG);
+        }
+    }
+
+    @Test
+    public void testCondensationCombinePolicies() {
+        Graph graph = new Graph(4, true, "edge");
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(0, 2, 9);
+        graph.addEdge(2, 3, 4);
+        KosarajuSCC.SCCResult scc = new KosarajuSCC(graph).findSCCs();
+
+        int[] expected = {5, 2, 9};
+        EdgeCombinePolicy[] policies = {
+                EdgeCombinePolicy.FIRST,
+                EdgeCombinePolicy.MIN,
+                EdgeCombinePolicy.MAX};
+        for (int i = 0; i < policies.length; i++) {
+            CondensationGraph condensation = new CondensationGraph(graph, scc, policies[i]);
+            Graph dag = condensation.getCondensationGraph();
+            int from = condensation.getComponent(0);
+            assertEquals(1, dag.outDegree(from));
+            assertEquals(expected[i], dag.edgeWeight(dag.edgeStart(from)), policies[i].name());
+            assertEquals(2, dag.getEdgeCount());
+        }
+    }
+
+    @Test
+    public void testCriticalPathMatchesPerSourceSearch() throws Exception {
+        for (String name : new String[] {"small_1", "small_2", "medium_1", "medium_3", "large_2", "large_3"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            Graph dag = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs()).getCondensationGraph();
+            DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths(dag);
+
+            // Reference: longest path from every source, first strict maximum wins
+            int maxLength = Integer.MIN_VALUE;
+            int bestSource = -1;
+            List<Integer> bestPath = null;
+            for (int source = 0; source < dag.getN(); source++) {
+                DAGShortestLongestPaths.LongestPathResult result = pathFinder.longestPath(source);
+                for (int target = 0; target < dag.getN(); target++) {
+                    if (result.dist[target] != Integer.MIN_VALUE && result.dist[target] > maxLength) {
+                        maxLength = result.dist[target];
+                        bestSource = source;
+                        bestPath = new ArrayList<>();
+                        for (int at = target; at != -1; at = result.prev[at]) {
+                            bestPath.add(0, at);
+                        }
+                    }
+                }
+            }
+
+            DAGShortestLongestPaths.CriticalPathResult critical = pathFinder.findCriticalPath();
+            assertEquals(maxLength, critical.length, name);
+            assertEquals(bestSource, critical.source, name);
+            assertEquals(bestPath, critical.path, name);
+        }
+    }
+
+    @Test
+    public void testPreparedQueriesUseFreshMetrics() throws Exception {
+        Graph graph = GraphJsonParser.parse("data/medium_1.json");
+        Graph dag = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs()).getCondensationGraph();
+        DAGShortestLongestPaths pathFinder = new DAGShortestLongestPaths(dag);
+        PreparedDAGPaths prepared = pathFinder.prepare();
+        assertTrue(prepared.isDAG());
+
+        for (int source = 0; source < dag.getN(); source++) {
+            DAGShortestLongestPaths.ShortestPathResult shortest = prepared.shortestPath(source);
+            DAGShortestLongestPaths.LongestPathResult longest = prepared.longestPath(source);
+            assertArrayEquals(pathFinder.shortestPath(source).dist, shortest.dist);
+            assertArrayEquals(pathFinder.longestPath(source).dist, longest.dist);
+            assertNotSame(shortest.metrics, longest.metrics);
+        }
+
+        // Two identical queries report identical counters instead of accumulating
+        assertEquals(prepared.shortestPath(0).metrics.getRelaxations(),
+                prepared.shortestPath(0).metrics.getRelaxations());
+    }
+
+    @Test
+    public void testBatchedDistancesMatchSingleSource() throws Exception {
+        for (String name : new String[] {"small_1", "medium_2", "large_1", "large_3"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            Graph dag = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs()).getCondensationGraph();
+            PreparedDAGPaths prepared = new PreparedDAGPaths(dag);
+
+            // Every node as a source, plus a repeat, spans several blocks including a partial one
+            int[] sources = new int[dag.getN() + 1];
+            for (int i = 0; i < dag.getN(); i++) {
+                sources[i] = dag.getN() - 1 - i;
+            }
+            int[][] shortest = prepared.shortestDistances(sources);
+            int[][] longest = prepared.longestDistances(sources);
+
+            for (int i = 0; i < sources.length; i++) {
+                assertArrayEquals(prepared.shortestPath(sources[i]).dist, shortest[i], name);
+                assertArrayEquals(prepared.longestPath(sources[i]).dist, longest[i], name);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelKahnLevels() throws Exception {
+        Graph graph = new Graph(6, true, "edge");
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(0, 3, 1);
+        graph.addEdge(3, 5, 1);
+
+        ParallelKahnTopologicalSort.LevelResult result = new ParallelKahnTopologicalSort(graph).topologicalSort();
+        assertTrue(result.isDAG);
+        assertEquals(List.of(0, 1, 4, 2, 3, 5), result.order);
+        assertArrayEquals(new int[] {0, 0, 1, 2, 0, 3}, result.level);
+        assertArrayEquals(new int[] {3, 1, 1, 1}, result.levelSizes);
+
+        graph.addEdge(5, 2, 1);
+        assertFalse(new ParallelKahnTopologicalSort(graph).topologicalSort().isDAG);
+
+        for (String name : new String[] {"small_1", "medium_2", "large_2"}) {
+            Graph g = GraphJsonParser.parse("data/" + name + ".json");
+            Graph dag = new CondensationGraph(g, new KosarajuSCC(g).findSCCs()).getCondensationGraph();
+            ParallelKahnTopologicalSort.LevelResult levels = new ParallelKahnTopologicalSort(dag).topologicalSort();
+            assertTrue(levels.isDAG, name);
+            assertEquals(dag.getN(), levels.order.size(), name);
+            for (int u = 0; u < dag.getN(); u++) {
+                for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++) {
+                    assertTrue(levels.level[u] < levels.level[dag.edgeTarget(e)], name);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSortIntoReusesWorkspace() throws Exception {
+        KahnTopologicalSort.Workspace workspace = new KahnTopologicalSort.Workspace();
+        for (String name : new String[] {"large_1", "small_1", "medium_3", "large_1"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            Graph dag = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs()).getCondensationGraph();
+
+            int[] order = new int[dag.getN()];
+            assertEquals(dag.getN(), KahnTopologicalSort.sortInto(dag, order, workspace), name);
+            List<Integer> expected = referenceKahnOrder(dag);
+            for (int i = 0; i < order.length; i++) {
+                assertEquals(expected.get(i).intValue(), order[i], name);
+            }
+        }
+
+        // FIFO order: zero in-degree nodes ascending, then successors as they are released
+        Graph small = new Graph(6, true, "edge");
+        small.addEdge(5, 2, 1);
+        small.addEdge(4, 0, 1);
+        small.addEdge(2, 1, 1);
+        small.addEdge(3, 1, 1);
+        small.addEdge(5, 0, 1);
+        int[] order = new int[6];
+        assertEquals(6, KahnTopologicalSort.sortInto(small, order, workspace));
+        assertArrayEquals(new int[] {3, 4, 5, 2, 0, 1}, order);
+
+        Graph cyclic = new Graph(3, true, "edge");
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 0, 1);
+        assertEquals(1, KahnTopologicalSort.sortInto(cyclic, new int[3], workspace));
+    }
+
+    // Plain queue-based Kahn, independent of KahnTopologicalSort
+    private static List<Integer> referenceKahnOrder(Graph graph) {
+        int n = graph.getN();
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                inDegree[edge.v]++;
+            }
+        }
+        Queue<Integer> queue = new LinkedList<>();
+        for (int u = 0; u < n; u++) {
+            if (inDegree[u] == 0) {
+                queue.offer(u);
+            }
+        }
+        List<Integer> order = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            order.add(u);
+            for (Graph.Edge edge : graph.getEdges(u)) {
+                if (--inDegree[edge.v] == 0) {
+                    queue.offer(edge.v);
+                }
+            }
+        }
+        return order;
+    }
+
+    @Test
+    public void testReachabilityIndexMatchesTraversal() throws Exception {
+        for (String name : new String[] {"small_1", "medium_1", "large_1", "large_3"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            CondensationGraph condensation = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs());
+            ReachabilityIndex index = new ReachabilityIndex(condensation);
+            assertTrue(index.getMemoryBytes() > 0, name);
+
+            int n = graph.getN();
+            int[] from = new int[n * n];
+            int[] to = new int[n * n];
+            for (int a = 0; a < n; a++) {
+                // Reference: plain DFS over the original graph
+                boolean[] seen = new boolean[n];
+                ArrayDeque<Integer> stack = new ArrayDeque<>(List.of(a));
+                seen[a] = true;
+                while (!stack.isEmpty()) {
+                    int u = stack.pop();
+                    for (long e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+                        int v = graph.edgeTarget(e);
+                        if (!seen[v]) {
+                            seen[v] = true;
+                            stack.push(v);
+                        }
+                    }
+                }
+                for (int b = 0; b < n; b++) {
+                    assertEquals(seen[b], index.canReach(a, b), name + " " + a + "->" + b);
+                    from[a * n + b] = a;
+                    to[a * n + b] = b;
+                }
+            }
+
+            boolean[] batch = index.canReach(from, to);
+            for (int i = 0; i < batch.length; i++) {
+                assertEquals(index.canReach(from[i], to[i]), batch[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testMetricsModesAndSnapshot() throws Exception {
+        Metrics disabled = Metrics.disabled();
+        disabled.incrementDfsEdges();
+        disabled.addRelaxations(5);
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.getDfsEdges());
+        assertEquals(0, disabled.getRelaxations());
+        assertSame(disabled, Metrics.disabled());
+
+        // Counters go past the int range
+        Metrics metrics = new Metrics();
+        metrics.addDfsEdges(Integer.MAX_VALUE);
+        metrics.incrementDfsEdges();
+        assertEquals(Integer.MAX_VALUE + 1L, metrics.getDfsEdges());
+
+        Metrics concurrent = Metrics.concurrent();
+        IntStream.range(0, 10_000).parallel().forEach(i -> concurrent.incrementRelaxations());
+        assertEquals(10_000, concurrent.getRelaxations());
+
+        concurrent.startPhase("sweep");
+        concurrent.stopPhase("sweep");
+        Metrics.Snapshot snapshot = concurrent.snapshot();
+        concurrent.incrementRelaxations();
+        assertEquals(10_000, snapshot.getRelaxations());
+        assertEquals(List.of("elapsedTime", "dfsVisits", "dfsEdges", "kahnPushes", "kahnPops",
+                "relaxations", "phase.sweep"), new ArrayList<>(snapshot.toMap().keySet()));
+        assertThrows(IllegalStateException.class, () -> concurrent.stopPhase("never"));
+
+        Graph graph = GraphJsonParser.parse("data/large_1.json");
+        KosarajuSCC.SCCResult parallel = new ParallelSCC(graph).findSCCs();
+        assertTrue(parallel.metrics.getPhaseTime("trim") > 0);
+    }
+
+    @Test
+    public void testGeneratorIsReproducibleAndPlantsSccs() throws Exception {
+        GraphGenerator.Spec spec = new GraphGenerator.Spec();
+        spec.nodes = 70_000;
+        spec.edges = 250_000;
+        spec.sccs = 500;
+        spec.depth = 8;
+        spec.seed = 11;
+
+        Path json = Files.createTempFile("generated", ".json");
+        Path bin = Files.createTempFile("generated", ".bin");
+        Path binAgain = Files.createTempFile("generated-again", ".bin");
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            GraphGenerator.Summary summary = GraphGenerator.generate(spec, json, single);
+            GraphGenerator.generate(spec, bin, single);
+            GraphGenerator.generate(spec, binAgain, ForkJoinPool.commonPool());
+            assertEquals(500, summary.sccs);
+            assertArrayEquals(Files.readAllBytes(bin), Files.readAllBytes(binAgain));
+
+            Graph fromJson = GraphJsonParser.parse(json.toString());
+            Graph fromBin = GraphBinaryFormat.load(bin);
+            assertEquals(spec.edges, fromJson.getArcCount());
+            assertEquals(spec.edges, fromBin.getArcCount());
+            for (int u = 0; u < spec.nodes; u++) {
+                assertEquals(fromJson.edgeEnd(u) - fromJson.edgeStart(u), fromBin.edgeEnd(u) - fromBin.edgeStart(u));
+                for (long e = fromJson.edgeStart(u), f = fromBin.edgeStart(u); e < fromJson.edgeEnd(u); e++, f++) {
+                    assertEquals(fromJson.edgeTarget(e), fromBin.edgeTarget(f));
+                    assertEquals(fromJson.edgeWeight(e), fromBin.edgeWeight(f));
+                }
+            }
+
+            // Planted cycles are the only non-trivial SCCs
+            KosarajuSCC.SCCResult sccs = new TarjanSCC(fromBin).findSCCs();
+            long nonTrivial = sccs.components.stream().filter(c -> c.size() > 1).count();
+            assertEquals(500, nonTrivial);
+            assertTrue(sccs.components.stream().allMatch(c -> c.size() <= spec.sccMax));
+        } finally {
+            single.shutdown();
+            Files.deleteIfExists(json);
+            Files.deleteIfExists(bin);
+            Files.deleteIfExists(binAgain);
+        }
+    }
+
+    @Test
+    public void testBatchPipelineIsolatesFailures() throws Exception {
+        Path broken = Files.createTempFile("broken", ".json");
+        Path csv = Files.createTempFile("summary", ".csv");
+        try {
+            Files.writeString(broken, "{\"n\": 3, \"edges\": [{\"u\": 0}");
+            List<Path> inputs = List.of(Path.of("data/small_1.json"),
+                    broken, Path.of("data/large_3.json"));
+
+            List<BatchPipeline.DatasetReport> reports =
+                    new BatchPipeline(2, SCCEngine.KOSARAJU, 0).run(inputs);
+            assertEquals(3, reports.size());
+            assertEquals(BatchPipeline.DatasetReport.OK, reports.get(0).status);
+            assertEquals(BatchPipeline.DatasetReport.FAILED, reports.get(1).status);
+            assertEquals(BatchPipeline.DatasetReport.OK, reports.get(2).status);
+
+            Graph graph = GraphJsonParser.parse("data/large_3.json");
+            CondensationGraph condensation = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs());
+            assertEquals(condensation.getCondensationGraph().getN(), reports.get(2).condensationNodes);
+            assertEquals(new DAGShortestLongestPaths(condensation.getCondensationGraph()).findCriticalPath().length,
+                    reports.get(2).criticalPathLength);
+
+            BatchPipeline.write(reports, csv);
+            List<String> lines = Files.readAllLines(csv);
+            assertEquals(4, lines.size());
+            assertTrue(lines.get(0).startsWith("file,status,error,"));
+        } finally {
+            Files.deleteIfExists(broken);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    public void testBatchPipelineTimeoutsDoNotStarveThePool() throws Exception {
+        // Reading a FIFO that nobody writes blocks in open(), which ignores interrupts
+        Path dir = Files.createTempDirectory("fifo");
+        Path first = dir.resolve("first.json");
+        Path second = dir.resolve("second.json");
+        try {
+            boolean made = new ProcessBuilder("mkfifo", first.toString(), second.toString())
+                    .start().waitFor() == 0;
+            Assumptions.assumeTrue(made, "mkfifo not available");
+            List<Path> inputs = List.of(first, second, Path.of("data/small_1.json"), Path.of("data/large_3.json"));
+
+            List<BatchPipeline.DatasetReport> reports = assertTimeout(Duration.ofSeconds(30),
+                    () -> new BatchPipeline(1, SCCEngine.KOSARAJU, 300).run(inputs));
+            assertEquals(BatchPipeline.DatasetReport.TIMEOUT, reports.get(0).status);
+            assertEquals(BatchPipeline.DatasetReport.TIMEOUT, reports.get(1).status);
+            assertEquals(BatchPipeline.DatasetReport.OK, reports.get(2).status);
+            assertEquals(BatchPipeline.DatasetReport.OK, reports.get(3).status);
+        } finally {
+            for (Path fifo : List.of(first, second)) {
+                if (Files.exists(fifo)) {
+                    // Let the blocked readers see end of file
+                    try (var release = Files.newOutputStream(fifo)) {
+                        release.flush();
+                    }
+                }
+                Files.deleteIfExists(fifo);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testAnalysisCacheSeparatesReorderedParallelArcs() throws Exception {
+        // The condensation keeps the first weight of parallel arcs, so arc order changes the result
+        Path dir = Files.createTempDirectory("analysis-cache");
+        Path heavyFirst = dir.resolve("heavy-first.json");
+        Path lightFirst = dir.resolve("light-first.json");
+        try {
+            Files.writeString(heavyFirst, "{\"directed\": true, \"n\": 2, \"weight_model\": \"edge\", "
+                    + "\"edges\": [{\"u\": 0, \"v\": 1, \"w\": 5}, {\"u\": 0, \"v\": 1, \"w\": 1}]}");
+            Files.writeString(lightFirst, "{\"directed\": true, \"n\": 2, \"weight_model\": \"edge\", "
+                    + "\"edges\": [{\"u\": 0, \"v\": 1, \"w\": 1}, {\"u\": 0, \"v\": 1, \"w\": 5}]}");
+            Path cacheDir = dir.resolve("cache");
+            AnalysisCache cache = new AnalysisCache(cacheDir, 1 << 20);
+            BatchPipeline pipeline = new BatchPipeline(1, SCCEngine.KOSARAJU, 0, cache);
+
+            BatchPipeline.DatasetReport heavy = pipeline.run(List.of(heavyFirst)).get(0);
+            BatchPipeline.DatasetReport light = pipeline.run(List.of(lightFirst)).get(0);
+            assertEquals(BatchPipeline.DatasetReport.OK, light.status);
+            assertFalse(light.cached);
+            assertEquals(5, heavy.criticalPathLength);
+            assertEquals(1, light.criticalPathLength);
+
+            BatchPipeline.DatasetReport again = pipeline.run(List.of(heavyFirst)).get(0);
+            assertTrue(again.cached);
+            assertEquals(5, again.criticalPathLength);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAnalysisCacheRoundTripAndEviction() throws Exception {
+        Graph a = new Graph(3, true, "edge");
+        a.addEdge(0, 1, 4);
+        a.addEdge(0, 2, 1);
+        a.addEdge(1, 0, 2);
+        Graph reordered = new Graph(3, true, "edge");
+        reordered.addEdge(1, 0, 2);
+        reordered.addEdge(0, 2, 1);
+        reordered.addEdge(0, 1, 4);
+        Graph reweighted = new Graph(3, true, "edge");
+        reweighted.addEdge(0, 1, 4);
+        reweighted.addEdge(0, 2, 1);
+        reweighted.addEdge(1, 0, 3);
+        assertNotEquals(GraphHash.of(a), GraphHash.of(reordered));
+        assertNotEquals(GraphHash.of(a), GraphHash.of(reweighted));
+
+        Graph graph = GraphJsonParser.parse("data/large_3.json");
+        KosarajuSCC.SCCResult sccs = new KosarajuSCC(graph).findSCCs();
+        CondensationGraph condensation = new CondensationGraph(graph, sccs);
+        Graph dag = condensation.getCondensationGraph();
+        KahnTopologicalSort.TopoResult topo = new KahnTopologicalSort(dag).topologicalSort();
+        DAGShortestLongestPaths.CriticalPathResult critical = new DAGShortestLongestPaths(dag).findCriticalPath();
+        AnalysisResult result = AnalysisResult.of(sccs, condensation, topo, critical);
+
+        Path dir = Files.createTempDirectory("analysis-cache");
+        try {
+            AnalysisCache cache = new AnalysisCache(dir, 1 << 20);
+            String key = AnalysisCache.key(GraphHash.of(graph), "KOSARAJU");
+            assertTrue(cache.get(key).isEmpty());
+            cache.put(key, result);
+
+            // A new instance sees entries written by an earlier one
+            AnalysisResult cached = new AnalysisCache(dir, 1 << 20).get(key).orElseThrow();
+            assertEquals(sccs.components, cached.toSCCResult().components);
+            assertEquals(critical.path, cached.toCriticalPathResult().path);
+            assertEquals(critical.length, cached.toCriticalPathResult().length);
+            assertEquals(topo.order.size(), cached.getTopologicalOrder().length);
+            for (int i = 0; i < topo.order.size(); i++) {
+                assertEquals(topo.order.get(i).intValue(), cached.getTopologicalOrder()[i]);
+            }
+            Graph cachedDag = cached.toCondensationGraph();
+            assertEquals(dag.getArcCount(), cachedDag.getArcCount());
+
+            // Room for two entries: touching the first makes the second the eviction victim
+            long entry = cache.getSizeBytes();
+            AnalysisCache small = new AnalysisCache(dir, 2 * entry);
+            small.put("second", result);
+            assertTrue(small.get(key).isPresent());
+            small.put("third", result);
+            assertTrue(small.get(key).isPresent());
+            assertTrue(small.get("second").isEmpty());
+            assertTrue(small.get("third").isPresent());
+            assertEquals(2 * entry, small.getSizeBytes());
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testDynamicTopologicalOrderUnderInsertions() throws Exception {
+        Graph graph = GraphJsonParser.parse("data/large_3.json");
+        Graph dag = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs()).getCondensationGraph();
+        int n = dag.getN();
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(dag);
+
+        // Reference copy of the edges, checked with a full Kahn sort after every insertion
+        Graph reference = new Graph(n, true, "edge");
+        for (int u = 0; u < n; u++) {
+            for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++) {
+                reference.addEdge(u, dag.edgeTarget(e), 1);
+            }
+        }
+
+        Random random = new Random(5);
+        int rejected = 0;
+        for (int step = 0; step < 300; step++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            Graph candidate = new Graph(n, true, "edge");
+            for (int a = 0; a < n; a++) {
+                for (long e = reference.edgeStart(a), end = reference.edgeEnd(a); e < end; e++) {
+                    candidate.addEdge(a, reference.edgeTarget(e), 1);
+                }
+            }
+            candidate.addEdge(u, v, 1);
+            boolean acyclic = new KahnTopologicalSort(candidate).topologicalSort().isDAG;
+
+            assertEquals(acyclic, order.addEdge(u, v), u + "->" + v);
+            if (acyclic) {
+                reference = candidate;
+                assertTrue(order.getLastCycle().isEmpty());
+            } else {
+                rejected++;
+                // The reported cycle runs v ~> u over existing edges
+                List<Integer> cycle = order.getLastCycle();
+                assertEquals(v, cycle.get(0).intValue());
+                assertEquals(u, cycle.get(cycle.size() - 1).intValue());
+                for (int i = 0; i + 1 < cycle.size(); i++) {
+                    boolean found = false;
+                    for (long e = reference.edgeStart(cycle.get(i)), end = reference.edgeEnd(cycle.get(i)); e < end; e++) {
+                        found |= reference.edgeTarget(e) == cycle.get(i + 1);
+                    }
+                    assertTrue(found);
+                }
+            }
+
+            for (int a = 0; a < n; a++) {
+                assertEquals(a, order.order()[order.position(a)]);
+                for (long e = reference.edgeStart(a), end = reference.edgeEnd(a); e < end; e++) {
+                    assertTrue(order.position(a) < order.position(reference.edgeTarget(e)));
+                }
+            }
+        }
+        assertTrue(rejected > 0);
+    }
+
+    @Test
+    public void testKBestPathsMatchBruteForceEnumeration() {
+        Random random = new Random(23);
+        int n = 14;
+        Graph dag = new Graph(n, true, "edge");
+        for (int u = 0; u < n; u++) {
+            for (int v = u + 1; v < n; v++) {
+                if (random.nextInt(3) == 0) {
+                    dag.addEdge(u, v, 1 + random.nextInt(9));
+                }
+            }
+        }
+        PreparedDAGPaths prepared = new PreparedDAGPaths(dag);
+
+        for (int source = 0; source < n; source++) {
+            for (int target = source; target < n; target++) {
+                List<Integer> all = new ArrayList<>();
+                enumeratePaths(dag, source, target, 0, all);
+                List<Integer> longest = new ArrayList<>(all);
+                longest.sort(Collections.reverseOrder());
+                List<Integer> shortest = new ArrayList<>(all);
+                Collections.sort(shortest);
+
+                assertEquals(longest, drainLengths(dag, prepared.longestPaths(source, target), source, target));
+                assertEquals(shortest, drainLengths(dag, prepared.shortestPaths(source, target), source, target));
+            }
+        }
+
+        // The best maximal chain is the critical path
+        assertEquals(prepared.findCriticalPath().length, prepared.criticalChains().next().length);
+    }
+
+    @Test
+    public void testScheduleMatchesPerNodeLongestPaths() throws Exception {
+        for (String name : new String[] {"small_2", "medium_1", "large_2"}) {
+            Graph graph = GraphJsonParser.parse("data/" + name + ".json");
+            CondensationGraph condensation = new CondensationGraph(graph, new KosarajuSCC(graph).findSCCs());
+            Graph dag = condensation.getCondensationGraph();
+            PreparedDAGPaths prepared = new PreparedDAGPaths(dag);
+            ScheduleAnalysis schedule = prepared.schedule();
+            assertEquals(prepared.findCriticalPath().length, schedule.makespan, name);
+
+            // Reference: earliest start is the longest path into v, latest start the makespan minus the longest path out
+            int[] into = new int[dag.getN()];
+            for (int s = 0; s < dag.getN(); s++) {
+                int[] dist = prepared.longestPath(s).dist;
+                int tail = 0;
+                for (int v = 0; v < dag.getN(); v++) {
+                    if (dist[v] != Integer.MIN_VALUE) {
+                        into[v] = Math.max(into[v], dist[v]);
+                        tail = Math.max(tail, dist[v]);
+                    }
+                }
+                assertEquals(schedule.makespan - tail, schedule.latestStart[s], name);
+            }
+            assertArrayEquals(into, schedule.earliestStart, name);
+            for (int v : prepared.findCriticalPath().path) {
+                assertTrue(schedule.isCritical(v), name);
+            }
+
+            ScheduleAnalysis perNode = ScheduleAnalysis.of(condensation);
+            assertEquals(graph.getN(), perNode.slack.length);
+            for (int u = 0; u < graph.getN(); u++) {
+                assertEquals(schedule.slack[condensation.getComponent(u)], perNode.slack[u], name);
+            }
+        }
+
+        // Node-weighted: a task's own duration separates its earliest start from its successors'
+        Graph tasks = new Graph(4, true, "node");
+        tasks.addEdge(0, 1, 0);
+        tasks.addEdge(0, 2, 0);
+        tasks.addEdge(1, 3, 0);
+        tasks.addEdge(2, 3, 0);
+        tasks.setNodeDuration(0, 2);
+        tasks.setNodeDuration(1, 5);
+        tasks.setNodeDuration(2, 1);
+        tasks.setNodeDuration(3, 3);
+        ScheduleAnalysis schedule = new DAGShortestLongestPaths(tasks).schedule();
+        assertEquals(10, schedule.makespan);
+        assertArrayEquals(new int[] {0, 2, 2, 7}, schedule.earliestStart);
+        assertArrayEquals(new int[] {0, 2, 6, 7}, schedule.latestStart);
+        assertArrayEquals(new int[] {0, 0, 4, 0}, schedule.slack);
+    }
+
+    private static void enumeratePaths(Graph dag, int u, int target, int length, List<Integer> out) {
+        if (u == target) {
+            out.add(length);
+            return;
+        }
+        for (long e = dag.edgeStart(u), end = dag.edgeEnd(u); e < end; e++) {
+            enumeratePaths(dag, dag.edgeTarget(e), target, length + dag.edgeWeight(e), out);
+        }
+    }
+
+    private static List<Integer> drainLengths(Graph dag,
+            Iterator<DAGShortestLongestPaths.CriticalPathResult> paths, int source, int target) {
+        List<Integer> lengths = new ArrayList<>();
+        Set<List<Integer>> seen = new HashSet<>();
+        while (paths.hasNext()) {
+            DAGShortestLongestPaths.CriticalPathResult path = paths.next();
+            assertTrue(seen.add(path.path), "duplicate " + path.path);
+            assertEquals(source, path.path.get(0).intValue());
+            assertEquals(target, path.path.get(path.path.size() - 1).intValue());
+            int length = 0;
+            for (int i = 0; i + 1 < path.path.size(); i++) {
+                int weight = -1;
+                for (long e = dag.edgeStart(path.path.get(i)), end = dag.edgeEnd(path.path.get(i)); e < end; e++) {
+                    if (dag.edgeTarget(e) == path.path.get(i + 1)) {
+                        weight = dag.edgeWeight(e);
+                    }
+                }
+                assertTrue(weight >= 0);
+                length += weight;
+            }
+            assertEquals(length, path.length);
+            lengths.add(path.length);
+        }
+        return lengths;
+    }
+}